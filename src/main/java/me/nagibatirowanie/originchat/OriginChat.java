@@ -27,10 +27,20 @@
  import me.nagibatirowanie.originchat.database.DatabaseManager;
  import me.nagibatirowanie.originchat.locale.LocaleManager;
  import me.nagibatirowanie.originchat.module.ModuleManager;
+ import me.nagibatirowanie.originchat.permission.PermissionCache;
+ import me.nagibatirowanie.originchat.spatial.PlayerSpatialIndex;
+ import me.nagibatirowanie.originchat.translate.LanguageDetector;
  import me.nagibatirowanie.originchat.translate.TranslateManager;
+ import me.nagibatirowanie.originchat.translate.TranslationCache;
+ import me.nagibatirowanie.originchat.translate.TranslationExecutor;
+ import me.nagibatirowanie.originchat.translate.TranslationMemory;
  import me.nagibatirowanie.originchat.utils.LoggerUtil;
+ import me.nagibatirowanie.originchat.utils.PlaceholderEngine;
+ import me.nagibatirowanie.originchat.utils.TranslateUtil;
  import org.bukkit.plugin.java.JavaPlugin;
  
+ import java.util.concurrent.CompletableFuture;
+ 
  
  
  public final class OriginChat extends JavaPlugin {
@@ -40,8 +50,15 @@
      private ModuleManager moduleManager;
      private LocaleManager localeManager;
      private TranslateManager translateManager;
+     private TranslationCache translationCache;
+     private TranslationExecutor translationExecutor;
+     private TranslationMemory translationMemory;
+     private LanguageDetector languageDetector;
+     private PlaceholderEngine placeholderEngine;
      private DatabaseManager databaseManager;
      private AnimationManager animationManager;
+     private PlayerSpatialIndex playerSpatialIndex;
+     private PermissionCache permissionCache;
      private LoggerUtil logger;
      
  
@@ -51,12 +68,44 @@
          new me.nagibatirowanie.originchat.animation.AnimationListener(this);
          instance = this;
          logger = new LoggerUtil(this);
+         StartupOrchestrator startup = new StartupOrchestrator(this);
          
+         // Everything else reads the main config
          configManager = new ConfigManager(this);
-         configManager.loadConfigs();
+         startup.run("config", configManager::loadConfigs);
          
-         // Initialize the database
          databaseManager = new DatabaseManager(this);
+         localeManager = new LocaleManager(this);
+         animationManager = new AnimationManager(this);
+         
+         // Independent file and database I/O runs in parallel, the main thread waits for all of it
+         CompletableFuture<Void> database = startup.async("database", this::initializeDatabase);
+         // Initialize TranslateManager after database
+         startup.async("translation settings", () -> translateManager = new TranslateManager(this), database);
+         // Locale files are parsed in the background and published on the main thread below
+         startup.async("locales", localeManager::prepareLocales);
+         // Animations only need locale ids, not loaded locales
+         startup.async("animations", animationManager::load);
+         startup.await();
+         startup.run("locale tables", localeManager::publishLocales);
+         
+         startup.run("managers", this::initializeManagers);
+         startup.run("modules", () -> {
+             moduleManager = new ModuleManager(this);
+             moduleManager.loadModules();
+         });
+     
+         new me.nagibatirowanie.originchat.commands.CommandManager(this);
+         
+         startup.report();
+         logger.info("OriginChat successfully enabled :3");
+ 
+     }
+ 
+     /**
+      * Connects to the database and runs migrations, retrying once
+      */
+     private void initializeDatabase() {
          databaseManager.initialize();
          
          // Check that the database is actually initialized
@@ -70,24 +119,27 @@
                  logger.severe("Error during database reinitialization: " + e.getMessage());
              }
          }
+     }
+ 
+     /**
+      * Creates the managers that register listeners and tasks, on the main thread
+      */
+     private void initializeManagers() {
+         translationCache = new TranslationCache(this);
+         translationExecutor = new TranslationExecutor(this);
+         TranslateUtil.reloadBackend();
+         // Warms the translation cache from the database in the background
+         translationMemory = new TranslationMemory(this);
+         languageDetector = new LanguageDetector(this);
          
-         // Initialize managers after database
-         localeManager = new LocaleManager(this);
-         
-         // Initialize TranslateManager after database
-         translateManager = new TranslateManager(this);
-         
-         // Initialize animation manager
-         animationManager = new AnimationManager(this);
+         // Per-tick memo of PlaceholderAPI values shared by chat, tab and scoreboard
+         placeholderEngine = new PlaceholderEngine(this);
          
-         moduleManager = new ModuleManager(this);
-         moduleManager.loadModules();
-     
-     
-         new me.nagibatirowanie.originchat.commands.CommandManager(this);
+         // Initialize player position index for radius chats
+         playerSpatialIndex = new PlayerSpatialIndex(this);
          
-         logger.info("OriginChat successfully enabled :3");
- 
+         // Initialize permission snapshots for chat routing
+         permissionCache = new PermissionCache(this);
      }
  
      @Override
@@ -100,6 +152,24 @@
              animationManager.stopAnimationTask();
          }
          
+         if (translationExecutor != null) {
+             translationExecutor.shutdown();
+         }
+         TranslateUtil.closeBackend();
+         
+         if (translationMemory != null) {
+             translationMemory.close();
+         }
+         if (languageDetector != null) {
+             languageDetector.close();
+         }
+         if (placeholderEngine != null) {
+             placeholderEngine.close();
+         }
+         if (localeManager != null) {
+             localeManager.close();
+         }
+         
          if (databaseManager != null) {
              databaseManager.close();
          }
@@ -161,6 +231,46 @@
          return translateManager;
      }
      
+     /**
+      * Get translation cache
+      * @return translation cache
+      */
+     public TranslationCache getTranslationCache() {
+         return translationCache;
+     }
+     
+     /**
+      * Get translation executor
+      * @return translation executor
+      */
+     public TranslationExecutor getTranslationExecutor() {
+         return translationExecutor;
+     }
+     
+     /**
+      * Get translation memory
+      * @return translation memory
+      */
+     public TranslationMemory getTranslationMemory() {
+         return translationMemory;
+     }
+     
+     /**
+      * Get source language detector
+      * @return language detector
+      */
+     public LanguageDetector getLanguageDetector() {
+         return languageDetector;
+     }
+     
+     /**
+      * Get placeholder engine
+      * @return placeholder engine
+      */
+     public PlaceholderEngine getPlaceholderEngine() {
+         return placeholderEngine;
+     }
+     
      /**
       * Get database manager
       * @return database manager
@@ -169,6 +279,22 @@
          return databaseManager;
      }
      
+     /**
+      * Get player position index
+      * @return player position index
+      */
+     public PlayerSpatialIndex getPlayerSpatialIndex() {
+         return playerSpatialIndex;
+     }
+     
+     /**
+      * Get permission snapshot cache
+      * @return permission snapshot cache
+      */
+     public PermissionCache getPermissionCache() {
+         return permissionCache;
+     }
+     
      /**
       * Get logging utility
       * @return logging utility
@@ -0,0 +1,131 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the I/O-bound parts of plugin startup (YAML parsing and updating, database
+ * connection and migration, settings preload) in parallel on a small pool, in the order
+ * their dependencies allow. Bukkit-bound steps run on the main thread, and every phase
+ * is timed for the startup report.
+ */
+public class StartupOrchestrator {
+
+    private static final int MAX_THREADS = 4;
+
+    private final OriginChat plugin;
+    private final ExecutorService executor;
+    private final List<CompletableFuture<Void>> phases = new ArrayList<>();
+    // "name time" of finished phases, in completion order
+    private final Queue<String> timings = new ConcurrentLinkedQueue<>();
+    private final long startedAt = System.nanoTime();
+
+    public StartupOrchestrator(OriginChat plugin) {
+        this.plugin = plugin;
+        AtomicInteger threadId = new AtomicInteger();
+        int threads = Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "OriginChat-Startup-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs a phase on the calling thread
+     *
+     * @param name Phase name for the report
+     * @param task Phase work
+     */
+    public void run(String name, Runnable task) {
+        timed(name, task).run();
+    }
+
+    /**
+     * Runs a phase on the startup pool once its dependencies are done
+     *
+     * @param name Phase name for the report
+     * @param task Phase work, must not wait for the main thread
+     * @param dependencies Phases that have to finish first
+     * @return Completion of the phase, failed if the phase or a dependency failed
+     */
+    public CompletableFuture<Void> async(String name, Runnable task, CompletableFuture<?>... dependencies) {
+        CompletableFuture<Void> phase = dependencies.length == 0
+                ? CompletableFuture.runAsync(timed(name, task), executor)
+                : CompletableFuture.allOf(dependencies).thenRunAsync(timed(name, task), executor);
+        phases.add(phase);
+        return phase;
+    }
+
+    /**
+     * Waits for all asynchronous phases and stops the pool
+     *
+     * @throws RuntimeException The first failure of a phase, as if it had run on the main thread
+     */
+    public void await() {
+        try {
+            CompletableFuture.allOf(phases.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Logs the duration of every phase and of the whole startup
+     */
+    public void report() {
+        long total = (System.nanoTime() - startedAt) / 1_000_000L;
+        plugin.getPluginLogger().info("Startup took " + total + " ms (" + String.join(", ", timings) + ")");
+    }
+
+    private Runnable timed(String name, Runnable task) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } catch (RuntimeException | Error e) {
+                plugin.getPluginLogger().severe("Startup phase '" + name + "' failed: " + e.getMessage());
+                throw e;
+            } finally {
+                timings.add(name + " " + (System.nanoTime() - start) / 1_000_000L + " ms");
+            }
+        };
+    }
+}
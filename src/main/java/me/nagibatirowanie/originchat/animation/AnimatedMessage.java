@@ -1,6 +1,7 @@
 package me.nagibatirowanie.originchat.animation;
 
 import me.nagibatirowanie.originchat.OriginChat;
+import me.nagibatirowanie.originchat.locale.LocaleRegistry;
 import me.nagibatirowanie.originchat.utils.FormatUtil;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
@@ -55,19 +56,15 @@ public class AnimatedMessage {
                 @Override
                 public void run() {
                     try {
-                        // Get the player's language
-                        String locale = Animation.DEFAULT_LOCALE;
+                        // Get the player's language, locales without frames fall back to the default ones
+                        int localeId = LocaleRegistry.UNKNOWN;
                         if (player != null && player.isOnline()) {
                             // Retrieve language from LocaleManager
-                            locale = plugin.getLocaleManager().getPlayerLocale(player);
-                            // Check if frames exist for this locale
-                            if (!animation.hasLocale(locale)) {
-                                locale = Animation.DEFAULT_LOCALE; // Fallback to default locale if no translation
-                            }
+                            localeId = plugin.getLocaleManager().getPlayerLocaleId(player);
                         }
                         
                         // Get the current frame for the player's language and send it
-                        String frame = animation.getCurrentFrame(locale);
+                        String frame = animation.getCurrentFrame(localeId);
                         // Replace the player placeholder if present
                         if (frame != null && frame.contains("{player}")) {
                             frame = frame.replace("{player}", player.getName());
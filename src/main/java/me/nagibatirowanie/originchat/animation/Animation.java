@@ -1,6 +1,8 @@
 package me.nagibatirowanie.originchat.animation;
 
 import me.nagibatirowanie.originchat.OriginChat;
+import me.nagibatirowanie.originchat.locale.LocaleRegistry;
+import me.nagibatirowanie.originchat.locale.LocaleValues;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,6 +17,7 @@ public class Animation {
     private final int interval; // Interval in ticks
     private final List<String> frames; // Default frames (for backward compatibility)
     private final Map<String, List<String>> localizedFrames; // Frames for different languages
+    private final LocaleValues<List<String>> framesById = new LocaleValues<>(); // The same frames by locale id
     private int currentFrameIndex;
     private int tickCounter;
 
@@ -33,6 +36,7 @@ public class Animation {
         this.frames = frames;
         this.localizedFrames = new HashMap<>();
         this.localizedFrames.put(DEFAULT_LOCALE, frames); // Add default frames as default locale
+        indexFrames();
         this.currentFrameIndex = 0;
         this.tickCounter = 0;
     }
@@ -50,11 +54,24 @@ public class Animation {
 
         // For backward compatibility, set frames to the default locale frames
         this.frames = localizedFrames.getOrDefault(DEFAULT_LOCALE, List.of());
+        indexFrames();
 
         this.currentFrameIndex = 0;
         this.tickCounter = 0;
     }
 
+    /**
+     * Stores non-empty localized frames by locale id
+     */
+    private void indexFrames() {
+        LocaleRegistry registry = OriginChat.getInstance().getLocaleManager().getRegistry();
+        for (Map.Entry<String, List<String>> entry : localizedFrames.entrySet()) {
+            if (entry.getValue() != null && !entry.getValue().isEmpty()) {
+                framesById.put(registry.register(entry.getKey()), entry.getValue());
+            }
+        }
+    }
+
     /**
      * Updates tick counter and switches frame if needed
      */
@@ -81,8 +98,21 @@ public class Animation {
             locale = getDefaultLocale();
         }
 
-        List<String> framesForLocale = getFramesForLocale(locale);
+        return currentFrameOf(getFramesForLocale(locale));
+    }
+
+    /**
+     * Gets the current animation frame for a locale id.
+     * Ids come from LocaleManager, which already applies locale.auto_detect
+     * @param localeId locale id, {@link LocaleRegistry#UNKNOWN} for the default locale
+     * @return current frame for the locale, or for default locale if translation not found
+     */
+    public String getCurrentFrame(int localeId) {
+        List<String> framesForLocale = framesById.get(localeId);
+        return currentFrameOf(framesForLocale != null ? framesForLocale : frames);
+    }
 
+    private String currentFrameOf(List<String> framesForLocale) {
         if (framesForLocale == null || framesForLocale.isEmpty()) {
             return "";
         }
@@ -159,6 +189,15 @@ public class Animation {
         return localizedFrames.containsKey(locale) && !localizedFrames.get(locale).isEmpty();
     }
 
+    /**
+     * Checks if frames exist for the specified locale id
+     * @param localeId locale id
+     * @return true if frames exist for the locale
+     */
+    public boolean hasLocale(int localeId) {
+        return framesById.get(localeId) != null;
+    }
+
     /**
      * Gets the default locale from plugin config
      * @return default locale code
@@ -1,6 +1,7 @@
 package me.nagibatirowanie.originchat.animation;
 
 import me.nagibatirowanie.originchat.OriginChat;
+import me.nagibatirowanie.originchat.locale.LocaleRegistry;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -29,11 +30,17 @@ public class AnimationManager {
 
     public AnimationManager(OriginChat plugin) {
         this.plugin = plugin;
+        // Animations are loaded by the startup orchestrator, the task ticks whatever is loaded
+        startAnimationTask();
+    }
 
+    /**
+     * Loads animations.yml and its animations, doesn't need the main thread
+     */
+    public void load() {
         try {
             loadAnimationsConfig();
             loadAnimations();
-            startAnimationTask();
         } catch (Exception e) {
             plugin.getPluginLogger().severe("Error initializing AnimationManager: " + e.getMessage());
             e.printStackTrace();
@@ -204,6 +211,21 @@ public class AnimationManager {
      * @return processed text with animation frames
      */
     public String processAnimations(String text, Player player) {
+        int localeId = player != null ? plugin.getLocaleManager().getPlayerLocaleId(player) : LocaleRegistry.UNKNOWN;
+        return processAnimations(text, player, localeId);
+    }
+
+    /**
+     * Replaces animation placeholders in the text with current frames of a locale
+     * @param text the input text
+     * @param locale the locale (can be null for default frames)
+     * @return processed text with animation frames
+     */
+    public String processAnimations(String text, String locale) {
+        return processAnimations(text, null, plugin.getLocaleManager().getRegistry().getId(locale));
+    }
+
+    private String processAnimations(String text, Player player, int localeId) {
         if (text == null || text.isEmpty()) {
             return "";
         }
@@ -222,15 +244,8 @@ public class AnimationManager {
 
                 String replacement = "";
                 if (animation != null) {
-                    String locale = Animation.DEFAULT_LOCALE;
-                    if (player != null) {
-                        locale = plugin.getLocaleManager().getPlayerLocale(player);
-                        if (!animation.hasLocale(locale)) {
-                            locale = Animation.DEFAULT_LOCALE;
-                        }
-                    }
-
-                    replacement = animation.getCurrentFrame(locale);
+                    // Locales without own frames get the default ones
+                    replacement = animation.getCurrentFrame(localeId);
                     if (player != null && replacement != null && replacement.contains("{player}")) {
                         replacement = replacement.replace("{player}", player.getName());
                     }
@@ -3,6 +3,8 @@ package me.nagibatirowanie.originchat.commands;
 import me.nagibatirowanie.originchat.OriginChat;
 import me.nagibatirowanie.originchat.locale.LocaleManager;
 import me.nagibatirowanie.originchat.utils.FormatUtil;
+import me.nagibatirowanie.originchat.utils.RenderContext;
+import net.kyori.adventure.text.Component;
 
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
@@ -10,6 +12,9 @@ import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Команда для отправки объявления всем игрокам
  */
@@ -49,18 +54,22 @@ public class BroadcastCommand implements CommandExecutor {
         String senderName = sender instanceof Player ? ((Player) sender).getDisplayName() : "Console";
         
         // Отправляем сообщение всем игрокам с учетом их локализации
+        // Сообщение рендерится один раз на локаль и общий компонент отправляется всем ее игрокам
+        Map<String, Component> rendered = new HashMap<>();
         for (Player player : Bukkit.getOnlinePlayers()) {
             String locale = localeManager.getPlayerLocale(player);
-            String format = localeManager.getMessage("commands.broadcast.format", locale);
-            
-            // Заменяем плейсхолдеры
-            String formattedMessage = format
-                    .replace("{sender}", senderName)
-                    .replace("{message}", message.toString().trim());
-            
-            // Применяем форматирование и отправляем
-            // Используем FormatUtil для лучшей поддержки HEX-цветов
-            player.sendMessage(FormatUtil.format(player, formattedMessage, true, true, true));
+            Component component = rendered.computeIfAbsent(locale, key -> {
+                String format = localeManager.getMessage("commands.broadcast.format", key);
+                
+                // Заменяем плейсхолдеры
+                String formattedMessage = format
+                        .replace("{sender}", senderName)
+                        .replace("{message}", message.toString().trim());
+                
+                // Серверные плейсхолдеры и анимации локали, без данных конкретного игрока
+                return FormatUtil.format(RenderContext.locale(key), formattedMessage, true, true, true);
+            });
+            player.sendMessage(component);
         }
         
         // Отправляем сообщение в консоль
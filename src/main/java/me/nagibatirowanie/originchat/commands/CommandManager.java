@@ -2,7 +2,13 @@ package me.nagibatirowanie.originchat.commands;
 
 import me.nagibatirowanie.originchat.OriginChat;
 import me.nagibatirowanie.originchat.locale.LocaleManager;
+import me.nagibatirowanie.originchat.translate.LanguageDetector;
+import me.nagibatirowanie.originchat.translate.TranslationBatcher;
+import me.nagibatirowanie.originchat.translate.TranslationCache;
+import me.nagibatirowanie.originchat.translate.TranslationExecutor;
+import me.nagibatirowanie.originchat.translate.TranslationMemory;
 import me.nagibatirowanie.originchat.utils.FormatUtil;
+import me.nagibatirowanie.originchat.utils.TranslateUtil;
 
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -75,6 +81,12 @@ public class CommandManager implements CommandExecutor, TabCompleter {
                 
                 // Перезагрузка плагина
                 plugin.getConfigManager().loadConfigs();
+                FormatUtil.clearCache();
+                plugin.getPlaceholderEngine().reload();
+                plugin.getTranslationCache().reload();
+                plugin.getTranslationExecutor().reload();
+                TranslateUtil.reloadBackend();
+                plugin.getLanguageDetector().reload();
                 plugin.getModuleManager().unloadModules();
                 plugin.getModuleManager().loadModules();
                 localeManager.loadLocales(); // Перезагружаем локали
@@ -106,6 +118,20 @@ public class CommandManager implements CommandExecutor, TabCompleter {
                 handleAnimationCommand(sender, args);
                 break;
                 
+            case "translation":
+                if (!sender.hasPermission("originchat.admin")) {
+                    localeManager.sendMessage(sender, "commands.no_permission");
+                    return true;
+                }
+                
+                if (args.length < 2) {
+                    localeManager.sendMessage(sender, "commands.translation.usage");
+                    return true;
+                }
+                
+                handleTranslationCommand(sender, args);
+                break;
+                
             case "help":
                 sendHelp(sender);
                 break;
@@ -131,7 +157,7 @@ public class CommandManager implements CommandExecutor, TabCompleter {
         if (args.length == 1) {
             // Первый аргумент - подкоманды
             if (sender.hasPermission("originchat.admin")) {
-                completions.addAll(Arrays.asList("reload", "module", "animation", "help"));
+                completions.addAll(Arrays.asList("reload", "module", "animation", "translation", "help"));
             } else {
                 completions.add("help");
                 if (sender.hasPermission("originchat.animation.list") || 
@@ -152,6 +178,11 @@ public class CommandManager implements CommandExecutor, TabCompleter {
             if (sender.hasPermission("originchat.admin")) {
                 plugin.getModuleManager().getModules().keySet().forEach(completions::add);
             }
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("translation")) {
+            // Второй аргумент для команды translation
+            if (sender.hasPermission("originchat.admin")) {
+                completions.addAll(Arrays.asList("stats", "clear"));
+            }
         } else if (args.length == 2 && args[0].equalsIgnoreCase("animation")) {
             // Второй аргумент для команды animation
             if (sender.hasPermission("originchat.animation.reload")) {
@@ -190,6 +221,60 @@ public class CommandManager implements CommandExecutor, TabCompleter {
         localeManager.sendMessageList(sender, "commands.help.lines");
     }
 
+    /**
+     * Обработать команды кэша переводов
+     * @param sender отправитель
+     * @param args аргументы
+     */
+    private void handleTranslationCommand(CommandSender sender, String[] args) {
+        TranslationCache cache = plugin.getTranslationCache();
+        TranslationExecutor executor = plugin.getTranslationExecutor();
+        TranslationBatcher batcher = TranslateUtil.getBatcher();
+        TranslationMemory memory = plugin.getTranslationMemory();
+        LanguageDetector detector = plugin.getLanguageDetector();
+        switch (args[1].toLowerCase()) {
+            case "stats":
+                long hits = cache.getHits();
+                long requests = hits + cache.getMisses();
+                String hitRate = requests == 0 ? "0" : String.format(java.util.Locale.ROOT, "%.1f", hits * 100.0 / requests);
+                localeManager.sendMessageList(sender, "commands.translation.stats",
+                        "{backend}", TranslateUtil.getBackendName(),
+                        "{enabled}", String.valueOf(cache.isEnabled()),
+                        "{size}", String.valueOf(cache.size()),
+                        "{languages}", String.valueOf(cache.getLanguageCount()),
+                        "{max}", String.valueOf(cache.getMaxEntriesPerLanguage()),
+                        "{hits}", String.valueOf(hits),
+                        "{misses}", String.valueOf(cache.getMisses()),
+                        "{evictions}", String.valueOf(cache.getEvictions()),
+                        "{coalesced}", String.valueOf(TranslateUtil.getCoalescedRequests()),
+                        "{active}", String.valueOf(executor.getActive()),
+                        "{max_active}", String.valueOf(executor.getMaxConcurrent()),
+                        "{queued}", String.valueOf(executor.getQueueDepth()),
+                        "{completed}", String.valueOf(executor.getCompleted()),
+                        "{rejected}", String.valueOf(executor.getRejected()),
+                        "{timeouts}", String.valueOf(executor.getTimeouts()),
+                        "{backend_requests}", String.valueOf(batcher != null ? batcher.getRequests() : 0),
+                        "{batched_texts}", String.valueOf(batcher != null ? batcher.getBatchedTexts() : 0),
+                        "{memory_hits}", String.valueOf(memory != null ? memory.getHits() : 0),
+                        "{memory_misses}", String.valueOf(memory != null ? memory.getMisses() : 0),
+                        "{memory_preloaded}", String.valueOf(memory != null ? memory.getPreloaded() : 0),
+                        "{memory_pending}", String.valueOf(memory != null ? memory.getPendingWrites() : 0),
+                        "{detections}", String.valueOf(detector != null ? detector.getDetections() : 0),
+                        "{same_language}", String.valueOf(detector != null ? detector.getSkipped() : 0),
+                        "{hit_rate}", hitRate);
+                break;
+                
+            case "clear":
+                cache.clear();
+                localeManager.sendMessage(sender, "commands.translation.cleared");
+                break;
+                
+            default:
+                localeManager.sendMessage(sender, "commands.translation.usage");
+                break;
+        }
+    }
+
     /**
      * Обработать команды для управления модулями
      * @param sender отправитель
@@ -12,6 +12,8 @@ import org.bukkit.entity.Player;
 import java.io.File;
 import java.io.IOException;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -167,7 +169,8 @@ public class DatabaseManager {
     }
 
     /**
-     * Get database connection
+     * Get database connection. The provider's connection is shared by the whole plugin,
+     * so closing the returned connection does nothing, only {@link #close()} closes it.
      * @return database connection
      * @throws SQLException on connection error
      */
@@ -175,7 +178,19 @@ public class DatabaseManager {
         if (provider == null) {
             throw new SQLException("Database is not initialized");
         }
-        return provider.getConnection();
+        Connection connection = provider.getConnection();
+        return (Connection) Proxy.newProxyInstance(DatabaseManager.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                        // Closing would make the next caller reconnect and break queries of other threads
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
     }
 
     /**
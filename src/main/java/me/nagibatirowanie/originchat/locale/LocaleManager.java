@@ -2,12 +2,23 @@ package me.nagibatirowanie.originchat.locale;
 
 import com.tchristofferson.configupdater.ConfigUpdater;
 import me.nagibatirowanie.originchat.OriginChat;
+import me.nagibatirowanie.originchat.database.DatabaseManager;
 import me.nagibatirowanie.originchat.utils.FormatUtil;
 
+import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLocaleChangeEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
 import java.io.IOException;
@@ -16,26 +27,76 @@ import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
- * Plugin localization manager
+ * Plugin localization manager.
+ * Locale files are only registered at startup; a locale is parsed and compiled in the background
+ * when a player who uses it logs in or when it is first used, and locales nobody used for a while
+ * are dropped back to their file.
  */
-public class LocaleManager {
+public class LocaleManager implements Listener {
 
     private final OriginChat plugin;
     private final Map<String, FileConfiguration> locales;
     private final Map<String, List<String>> excludedPaths;
-    private FileConfiguration defaultLocale;
-    private String defaultLanguage;
+    // Locale files by locale name, loaded or not
+    private final Map<String, File> available = new ConcurrentHashMap<>();
+    private volatile FileConfiguration defaultLocale;
+    private volatile String defaultLanguage;
+    // Compiled messages of active locales by locale name
+    private final Map<String, LocaleTable> tables = new ConcurrentHashMap<>();
+    private volatile LocaleTable defaultTable;
+    private static final int MAX_KNOWN_LOCALES = 10_000;
+
+    // Locales being parsed in the background, lookups wait for them for a bounded time
+    private final Map<String, CompletableFuture<LocaleTable>> activating = new ConcurrentHashMap<>();
+    private final ExecutorService activationExecutor;
+    private volatile long activationWaitMillis = 250;
+    // Activation and eviction of one locale don't wait for other locales
+    private final Map<String, Object> localeLocks = new ConcurrentHashMap<>();
+    // Bumped by publishLocales, tables compiled against an older default are dropped
+    private volatile int generation;
+    // Written by prepareLocales off the main thread, waiting for publishLocales
+    private volatile PreparedLocales prepared;
+    private volatile boolean lazyLoading = true;
+    private volatile long evictAfterMillis;
+    private BukkitTask evictionTask;
+    private final LocaleRegistry registry = new LocaleRegistry();
+    // Client language id of online players, as returned by getPlayerLocaleRaw
+    private final Map<UUID, Integer> clientLocales = new ConcurrentHashMap<>();
+    // Supported locale id of online players, cleared when locales are reloaded
+    private final Map<UUID, Integer> playerLocales = new ConcurrentHashMap<>();
+    // Locale id players had when they last left, parsed again when they log in
+    private final Map<UUID, Integer> knownLocales = new ConcurrentHashMap<>();
+    private volatile boolean autoDetect = true;
     
     public LocaleManager(OriginChat plugin) {
         this.plugin = plugin;
-        this.locales = new HashMap<>();
+        this.locales = new ConcurrentHashMap<>();
         this.excludedPaths = new HashMap<>();
         this.defaultLanguage = plugin.getConfigManager().getMainConfig().getString("locale.default", "ru");
-        loadLocales();
+        this.activationExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "OriginChat-Locales");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Locales are loaded by the startup orchestrator, see prepareLocales and publishLocales
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        // Checked once a minute, eviction itself is configured in minutes
+        evictionTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::evictUnusedLocales, 1200L, 1200L);
     }
     
     /**
@@ -65,12 +126,20 @@ public class LocaleManager {
     }
     
     /**
-     * Load all available locales
+     * Register all available locales, load the default one and the ones in use.
+     * Same as {@link #prepareLocales()} followed by {@link #publishLocales()}, must be called on the main thread.
      */
-    public void loadLocales() {
-        // Clear localization cache before loading
-        locales.clear();
-        defaultLocale = null;
+    public synchronized void loadLocales() {
+        prepareLocales();
+        publishLocales();
+    }
+
+    /**
+     * Registers locale files, updates and parses the default locale. Only file I/O and parsing,
+     * nothing lookups read is changed, so it can run off the main thread; {@link #publishLocales()}
+     * has to follow on the main thread.
+     */
+    public synchronized void prepareLocales() {
         // Create locale directory if it doesn't exist
         File localeDir = new File(plugin.getDataFolder(), "locales");
         if (!localeDir.exists()) {
@@ -114,7 +183,7 @@ public class LocaleManager {
                     try {
                         if (plugin.getResource("locales/" + locale + ".yml") != null) {
                             saveDefaultLocale(locale);
-                            plugin.getPluginLogger().info("[LocaleManager] Loaded localization: " + locale);
+                            plugin.getPluginLogger().info("[LocaleManager] Found localization: " + locale);
                         }
                     } catch (Exception ignored) {
                         // Ignore if locale doesn't exist
@@ -127,32 +196,252 @@ public class LocaleManager {
             plugin.getPluginLogger().warning("Error accessing resource directory: " + e.getMessage());
         }
         
-        // Load all locale files from directory
+        // Register all locale files from directory, they are parsed on first use
+        Map<String, File> files = new HashMap<>();
         File[] localeFiles = localeDir.listFiles((dir, name) -> name.endsWith(".yml"));
         if (localeFiles != null) {
             for (File file : localeFiles) {
                 String fileName = file.getName();
                 String localeName = fileName.substring(0, fileName.length() - 4); // Remove .yml extension
-                
-                FileConfiguration localeConfig = YamlConfiguration.loadConfiguration(file);
-                
-                // Check and update localization file
-                checkAndUpdateLocale(file, "locales/" + localeName + ".yml");
-                
-                locales.put(localeName, localeConfig);
-                
-                plugin.getPluginLogger().info("Loaded locale: " + localeName);
+                files.put(localeName, file);
+                registry.register(localeName);
             }
         }
         
         // Set default locale from configuration
-        defaultLanguage = plugin.getConfigManager().getMainConfig().getString("locale.default", "ru");
-        defaultLocale = locales.getOrDefault(defaultLanguage, locales.get("ru"));
+        FileConfiguration mainConfig = plugin.getConfigManager().getMainConfig();
+        PreparedLocales next = new PreparedLocales(files, mainConfig);
+        
+        String defaultFile = files.containsKey(next.defaultLanguage) ? next.defaultLanguage
+                : files.containsKey("ru") ? "ru" : null;
+        if (defaultFile == null && !files.isEmpty()) {
+            defaultFile = files.keySet().iterator().next();
+            next.defaultLanguage = defaultFile;
+        }
+        registry.register(next.defaultLanguage);
         
-        if (defaultLocale == null && !locales.isEmpty()) {
-            defaultLocale = locales.values().iterator().next();
-            defaultLanguage = locales.keySet().iterator().next();
+        // The default locale backs every other one and is never evicted
+        if (defaultFile != null) {
+            next.defaultFile = defaultFile;
+            next.defaultLocale = parseLocale(defaultFile, files.get(defaultFile));
+            next.defaultTable = LocaleTable.compile(next.defaultLocale, null);
+        }
+        prepared = next;
+    }
+
+    /**
+     * Replaces the loaded locales with the ones {@link #prepareLocales()} read and starts loading
+     * the locales in use. Must be called on the main thread.
+     */
+    public synchronized void publishLocales() {
+        PreparedLocales next = prepared;
+        if (next == null) {
+            return;
+        }
+        prepared = null;
+        // Clear localization cache before publishing
+        locales.clear();
+        tables.clear();
+        available.clear();
+        generation++;
+        // Parses started before the reload finish against the old files, new lookups start over
+        activating.clear();
+        
+        available.putAll(next.files);
+        defaultLanguage = next.defaultLanguage;
+        autoDetect = next.autoDetect;
+        lazyLoading = next.lazyLoading;
+        evictAfterMillis = next.evictAfterMillis;
+        activationWaitMillis = next.activationWaitMillis;
+        defaultLocale = next.defaultLocale;
+        defaultTable = next.defaultTable;
+        if (next.defaultFile != null) {
+            locales.put(next.defaultFile, next.defaultLocale);
+            tables.put(next.defaultFile, next.defaultTable);
+        }
+        playerLocales.clear();
+        
+        // Parsed in the background, lookups wait for them for a bounded time
+        if (!lazyLoading) {
+            for (String locale : available.keySet()) {
+                activateAsync(locale);
+            }
+        } else {
+            // After a reload, locales of online players are needed right away
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                activateAsync(getPlayerLocale(player));
+            }
+        }
+        plugin.getPluginLogger().info("[LocaleManager] Registered " + available.size() + " locales"
+                + (lazyLoading ? ", others load on first use" : ", loading them in the background"));
+    }
+
+    /**
+     * Updates a locale file from plugin resources and parses it
+     * @param locale locale name
+     * @return parsed locale
+     */
+    private FileConfiguration loadLocale(String locale) {
+        FileConfiguration localeConfig = parseLocale(locale, available.get(locale));
+        locales.put(locale, localeConfig);
+        return localeConfig;
+    }
+
+    private FileConfiguration parseLocale(String locale, File file) {
+        String resourceName = "locales/" + locale + ".yml";
+        // Only bundled locales have a resource to update from
+        if (plugin.getResource(resourceName) != null) {
+            checkAndUpdateLocale(file, resourceName);
+        }
+        return YamlConfiguration.loadConfiguration(file);
+    }
+
+    /**
+     * Parses and compiles a locale if it isn't loaded yet
+     * @param locale locale name
+     * @return compiled locale, null if there is no such locale file
+     */
+    private LocaleTable activate(String locale) {
+        if (locale == null) {
+            return null;
+        }
+        LocaleTable table = tables.get(locale);
+        if (table != null || !available.containsKey(locale)) {
+            return table;
+        }
+        synchronized (localeLock(locale)) {
+            table = tables.get(locale);
+            if (table == null) {
+                int loadedGeneration = generation;
+                table = LocaleTable.compile(loadLocale(locale), defaultTable);
+                if (loadedGeneration == generation) {
+                    tables.put(locale, table);
+                    plugin.getPluginLogger().info("Loaded locale: " + locale);
+                }
+            }
+            return table;
+        }
+    }
+
+    /**
+     * Starts parsing a locale on the locale thread unless it is loaded or already being parsed
+     * @param locale locale name
+     * @return the compiled locale when done, null if there is no such locale file
+     */
+    private CompletableFuture<LocaleTable> activateAsync(String locale) {
+        if (locale == null || !available.containsKey(locale)) {
+            return null;
+        }
+        LocaleTable table = tables.get(locale);
+        if (table != null) {
+            return CompletableFuture.completedFuture(table);
+        }
+        CompletableFuture<LocaleTable> activation = new CompletableFuture<>();
+        CompletableFuture<LocaleTable> running = activating.putIfAbsent(locale, activation);
+        if (running != null) {
+            return running;
+        }
+        try {
+            activationExecutor.execute(() -> {
+                try {
+                    activation.complete(activate(locale));
+                } catch (RuntimeException e) {
+                    plugin.getPluginLogger().warning("[LocaleManager] Failed to load locale " + locale + ": " + e.getMessage());
+                    activation.completeExceptionally(e);
+                } finally {
+                    activating.remove(locale, activation);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The plugin is being disabled
+            activating.remove(locale, activation);
+            activation.complete(null);
+        }
+        return activation;
+    }
+
+    /**
+     * Starts parsing a locale and waits for it for up to locale.load_wait_ms
+     * @param locale locale name
+     * @return compiled locale, null if it is not ready in time or there is no such locale file
+     */
+    private LocaleTable awaitActivation(String locale) {
+        CompletableFuture<LocaleTable> activation = activateAsync(locale);
+        if (activation == null) {
+            return null;
+        }
+        try {
+            return activation.get(activationWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private Object localeLock(String locale) {
+        return localeLocks.computeIfAbsent(locale, key -> new Object());
+    }
+
+    /**
+     * Compiles loaded locales into flat message tables, missing keys are taken from the default locale
+     */
+    private synchronized void compileTables() {
+        LocaleTable compiledDefault = defaultLocale != null ? LocaleTable.compile(defaultLocale, null) : null;
+        for (Map.Entry<String, FileConfiguration> entry : locales.entrySet()) {
+            tables.put(entry.getKey(), entry.getValue() == defaultLocale
+                    ? compiledDefault
+                    : LocaleTable.compile(entry.getValue(), compiledDefault));
+        }
+        defaultTable = compiledDefault;
+    }
+
+    /**
+     * Drops locales that no online player uses and nobody looked up for the configured time
+     */
+    private void evictUnusedLocales() {
+        if (!lazyLoading || evictAfterMillis <= 0) {
+            return;
+        }
+        long unusedSince = System.currentTimeMillis() - evictAfterMillis;
+        Set<Integer> inUse = new HashSet<>(playerLocales.values());
+        for (Map.Entry<String, LocaleTable> entry : tables.entrySet()) {
+            String locale = entry.getKey();
+            LocaleTable table = entry.getValue();
+            if (table == defaultTable || locale.equals(defaultLanguage)
+                    || inUse.contains(registry.getId(locale)) || table.getLastUsed() > unusedSince) {
+                continue;
+            }
+            synchronized (localeLock(locale)) {
+                if (tables.remove(locale, table)) {
+                    locales.remove(locale);
+                    plugin.getPluginLogger().info("[LocaleManager] Unloaded unused locale: " + locale);
+                }
+            }
+        }
+    }
+
+    /**
+     * Table of a locale, region suffixes are ignored (en_US -> en)
+     */
+    private LocaleTable getTable(String locale) {
+        String baseLocale = locale;
+        int separator = locale.indexOf('_');
+        if (separator >= 0) {
+            baseLocale = locale.substring(0, separator).toLowerCase();
         }
+        LocaleTable table = tables.get(baseLocale);
+        if (table == null) {
+            // Never parse on the caller's thread, usually the main one, but give the parse a moment
+            // so the message is not sent in the default language
+            table = awaitActivation(baseLocale);
+            if (table == null) {
+                return defaultTable;
+            }
+        }
+        table.touch();
+        return table;
     }
     
     /**
@@ -172,31 +461,9 @@ public class LocaleManager {
                 plugin.getPluginLogger().warning("Could not save locale file " + locale + ": " + e.getMessage());
                 return false;
             }
-        } else {
-            // Check and update existing localization file
-            try {
-                // Use empty exclusion list so all deleted elements are restored
-                List<String> ignoredSections = new ArrayList<>();
-                
-                // Update localization using the library
-                ConfigUpdater.update(plugin, "locales/" + locale + ".yml", localeFile, ignoredSections);
-                
-                // Reload file after update
-                FileConfiguration updatedConfig = YamlConfiguration.loadConfiguration(localeFile);
-                locales.put(locale, updatedConfig);
-                
-                // If this is the default localization, update it too
-                if (locale.equals(defaultLanguage)) {
-                    defaultLocale = updatedConfig;
-                }
-                
-                plugin.getPluginLogger().info("Updated locale file: " + locale);
-            } catch (IOException e) {
-                plugin.getPluginLogger().severe("Error when updating locale file " + locale + ": " + e.getMessage());
-                e.printStackTrace();
-            }
-            return true;
         }
+        // Existing files are updated from resources when the locale is loaded
+        return true;
     }
     
     /**
@@ -205,7 +472,7 @@ public class LocaleManager {
      * @return true if file exists
      */
     public boolean hasLocale(String locale) {
-        return locales.containsKey(locale);
+        return available.containsKey(locale);
     }
     
     /**
@@ -215,34 +482,14 @@ public class LocaleManager {
      * @return message or key if message not found
      */
     public String getMessage(String key, String locale) {
-        // Extract base language from locale if it contains country code (e.g. en_US -> en)
-        String baseLocale = locale;
-        if (locale.contains("_")) {
-            baseLocale = locale.split("_")[0].toLowerCase();
-        }
-        
-        // Try to get locale config
-        FileConfiguration localeConfig = locales.getOrDefault(baseLocale, defaultLocale);
-        
-        if (localeConfig == null) {
+        LocaleTable table = getTable(locale);
+        if (table == null) {
             return "§cLocale not found: " + locale;
         }
         
-        String message = localeConfig.getString(key);
-        
-        if (message == null) {
-            // If message not found in specified locale, try to find in default locale
-            if (localeConfig != defaultLocale && defaultLocale != null) {
-                message = defaultLocale.getString(key);
-            }
-            
-            // If message still not found, return key
-            if (message == null) {
-                return "§cMessage not found: " + key;
-            }
-        }
-        
-        return FormatUtil.formatLegacy(message);
+        // Default locale messages are already merged into the table
+        String message = table.getMessage(key);
+        return message != null ? message : "§cMessage not found: " + key;
     }
     
     /**
@@ -271,8 +518,10 @@ public class LocaleManager {
             }
         }
         
-        // Send formatted message using Adventure API
-        sender.sendMessage(FormatUtil.format(player, message, true, true, true));
+        // Send formatted message using Adventure API, messages without arguments and placeholders are parsed once
+        sender.sendMessage(args.length == 0 && FormatUtil.isConstant(message)
+                ? FormatUtil.formatCached(message)
+                : FormatUtil.format(player, message, true, true, true));
     }
     
     /**
@@ -281,73 +530,179 @@ public class LocaleManager {
      * @return player locale or default locale
      */
     public String getPlayerLocale(Player player) {
+        return registry.getName(getPlayerLocaleId(player));
+    }
+
+    /**
+     * Get player locale id, for per-locale data stored in {@link LocaleValues}
+     * @param player player
+     * @return id of the player locale or of the default locale
+     */
+    public int getPlayerLocaleId(Player player) {
         // If player is null, return default locale
-        if (player == null) {
-            return defaultLanguage;
+        if (player == null || !autoDetect) {
+            return registry.register(defaultLanguage);
         }
         
-        // Check if auto-detection is enabled
-        boolean autoDetect = plugin.getConfigManager().getMainConfig().getBoolean("locale.auto_detect", true);
-        if (!autoDetect) {
-            return defaultLanguage;
-        }
-        
-        // Get locale from player configuration or use client locale
-        String playerLocale = null;
-        
-        try {
-            String clientLocale = player.locale().toString();
-            if (clientLocale != null && !clientLocale.isEmpty()) {
-                if (clientLocale.contains("_")) {
-                    String[] parts = clientLocale.split("_");
-                    if (parts[0].equals("zh") || parts[0].equals("ja") || 
-                        parts[0].equals("ko") || parts[0].equals("pt")) {
-                        playerLocale = parts[0].toLowerCase() + "-" + parts[1].toUpperCase();
-                    } else {
-                        playerLocale = parts[0].toLowerCase();
-                    }
-                } else {
-                    playerLocale = clientLocale.toLowerCase();
-                }
-                
-
+        Integer playerLocale = playerLocales.get(player.getUniqueId());
+        if (playerLocale == null) {
+            playerLocale = resolveLocale(getPlayerLocaleRawId(player));
+            if (player.isOnline()) {
+                playerLocales.put(player.getUniqueId(), playerLocale);
             }
-        } catch (Exception e) {
-            plugin.getPluginLogger().warning("[LocaleManager] Error when determining player's locale! " + 
-                player.getName() + ": " + e.getMessage());
         }
-        
-        if (playerLocale == null || !locales.containsKey(playerLocale)) {
-            playerLocale = defaultLanguage;
-        }
-        
         return playerLocale;
     }
 
+    /**
+     * Get the language of the player's client, whether or not a locale file exists for it
+     * @param player player
+     * @return language such as "en" or "zh-CN", null if unknown
+     */
     public String getPlayerLocaleRaw(Player player) {
+        return registry.getName(getPlayerLocaleRawId(player));
+    }
+
+    /**
+     * Get the id of the player's client language
+     * @param player player
+     * @return language id, {@link LocaleRegistry#UNKNOWN} if unknown
+     */
+    public int getPlayerLocaleRawId(Player player) {
         if (player == null) {
-            return null;
+            return LocaleRegistry.UNKNOWN;
+        }
+        Integer clientLocale = clientLocales.get(player.getUniqueId());
+        if (clientLocale != null) {
+            return clientLocale;
         }
+        int id = LocaleRegistry.UNKNOWN;
         try {
-            String clientLocale = player.locale().toString();
-            if (clientLocale != null && !clientLocale.isEmpty()) {
-                if (clientLocale.contains("_")) {
-                    String[] parts = clientLocale.split("_");
-                    if (parts[0].equals("zh") || parts[0].equals("ja") ||
-                        parts[0].equals("ko") || parts[0].equals("pt")) {
-                        return parts[0].toLowerCase() + "-" + parts[1].toUpperCase();
-                    } else {
-                        return parts[0].toLowerCase();
-                    }
-                } else {
-                    return clientLocale.toLowerCase();
-                }
-            }
+            id = registry.register(normalizeLocale(player.locale().toString()));
         } catch (Exception e) {
             plugin.getPluginLogger().warning("[LocaleManager] Error when determining player's locale! " + 
                 player.getName() + ": " + e.getMessage());
         }
-        return null;
+        if (id != LocaleRegistry.UNKNOWN && player.isOnline()) {
+            clientLocales.put(player.getUniqueId(), id);
+        }
+        return id;
+    }
+
+    /**
+     * Get the registry of locale ids
+     * @return locale registry
+     */
+    public LocaleRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Converts a client locale (en_us, zh_CN) to a language name, keeping the region for zh, ja, ko and pt
+     * @return language name, null for an empty locale
+     */
+    private static String normalizeLocale(String clientLocale) {
+        if (clientLocale == null || clientLocale.isEmpty()) {
+            return null;
+        }
+        String language;
+        int separator = clientLocale.indexOf('_');
+        if (separator >= 0) {
+            String[] parts = clientLocale.split("_");
+            if (parts[0].equals("zh") || parts[0].equals("ja") ||
+                parts[0].equals("ko") || parts[0].equals("pt")) {
+                language = parts[0].toLowerCase() + "-" + parts[1].toUpperCase();
+            } else {
+                language = parts[0].toLowerCase();
+            }
+        } else {
+            language = clientLocale.toLowerCase();
+        }
+        return language;
+    }
+
+    /**
+     * @return the language id if a locale file exists for it, the default locale id otherwise
+     */
+    private int resolveLocale(int languageId) {
+        String language = registry.getName(languageId);
+        return language != null && available.containsKey(language) ? languageId : registry.register(defaultLanguage);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPlayerPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED || !autoDetect) {
+            return;
+        }
+        // The client locale is not known yet, the one the player had last time is parsed on this
+        // async thread so their join messages don't wait for it
+        Integer known = knownLocales.get(event.getUniqueId());
+        String locale = known != null ? registry.getName(known) : getStoredLocale(event.getUniqueId());
+        if (locale != null && available.containsKey(locale)) {
+            activate(locale);
+        }
+    }
+
+    /**
+     * @return locale saved in the database for the player, null if there is none
+     */
+    private String getStoredLocale(UUID uuid) {
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        return databaseManager != null ? databaseManager.getPlayerLocale(uuid) : null;
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        // Resolved before other join handlers send localized messages
+        Player player = event.getPlayer();
+        clientLocales.remove(player.getUniqueId());
+        playerLocales.remove(player.getUniqueId());
+        // Parse the player's locale off the main thread before the first message needs it
+        activateAsync(getPlayerLocale(player));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLocaleChange(PlayerLocaleChangeEvent event) {
+        // Fired before the player's locale is updated, so the new value is taken from the event
+        UUID uuid = event.getPlayer().getUniqueId();
+        int clientLocale = registry.register(normalizeLocale(event.getLocale()));
+        if (clientLocale == LocaleRegistry.UNKNOWN) {
+            clientLocales.remove(uuid);
+            playerLocales.remove(uuid);
+            return;
+        }
+        clientLocales.put(uuid, clientLocale);
+        int playerLocale = resolveLocale(clientLocale);
+        playerLocales.put(uuid, playerLocale);
+        activateAsync(registry.getName(playerLocale));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        UUID uuid = event.getPlayer().getUniqueId();
+        clientLocales.remove(uuid);
+        Integer playerLocale = playerLocales.remove(uuid);
+        if (playerLocale != null) {
+            if (knownLocales.size() >= MAX_KNOWN_LOCALES) {
+                knownLocales.clear();
+            }
+            knownLocales.put(uuid, playerLocale);
+        }
+    }
+
+    /**
+     * Unregisters the listener and forgets cached player locales
+     */
+    public void close() {
+        HandlerList.unregisterAll(this);
+        if (evictionTask != null) {
+            evictionTask.cancel();
+            evictionTask = null;
+        }
+        activationExecutor.shutdownNow();
+        clientLocales.clear();
+        playerLocales.clear();
+        knownLocales.clear();
     }
     
     /**
@@ -403,9 +758,15 @@ public class LocaleManager {
      * Set default locale
      * @param defaultLanguage default locale
      */
-    public void setDefaultLanguage(String defaultLanguage) {
+    public synchronized void setDefaultLanguage(String defaultLanguage) {
         this.defaultLanguage = defaultLanguage;
+        if (available.containsKey(defaultLanguage) && !locales.containsKey(defaultLanguage)) {
+            loadLocale(defaultLanguage);
+        }
         this.defaultLocale = locales.getOrDefault(defaultLanguage, defaultLocale);
+        registry.register(defaultLanguage);
+        compileTables();
+        playerLocales.clear();
     }
     
     /**
@@ -426,18 +787,9 @@ public class LocaleManager {
             // This will allow to restore all deleted elements from original files
             List<String> ignoredSections = new ArrayList<>();
             
-            // Update localization using the library
+            // Update localization using the library, the caller parses the updated file
             ConfigUpdater.update(plugin, resourceName, localeFile, ignoredSections);
             
-            // Reload file after update
-            FileConfiguration updatedConfig = YamlConfiguration.loadConfiguration(localeFile);
-            locales.put(localeName, updatedConfig);
-            
-            // If this is the default localization, update it too
-            if (localeName.equals(defaultLanguage)) {
-                defaultLocale = updatedConfig;
-            }
-            
             plugin.getPluginLogger().info("Successfully updated locale file: " + localeName);
             return true;
         } catch (IOException e) {
@@ -452,8 +804,8 @@ public class LocaleManager {
      * @param locale localization name without .yml extension
      * @return updated configuration or null in case of error
      */
-    public FileConfiguration updateLocale(String locale) {
-        if (!locales.containsKey(locale)) {
+    public synchronized FileConfiguration updateLocale(String locale) {
+        if (!available.containsKey(locale)) {
             return null;
         }
         
@@ -462,22 +814,15 @@ public class LocaleManager {
             return null;
         }
         
-        FileConfiguration localeConfig = YamlConfiguration.loadConfiguration(localeFile);
+        // Check, update and parse localization file
+        boolean isDefault = locales.get(locale) == defaultLocale;
+        FileConfiguration localeConfig = loadLocale(locale);
         
-        // Check and update localization file
-        boolean updated = checkAndUpdateLocale(localeFile, "locales/" + locale + ".yml");
-        if (updated) {
-            // Reload configuration after update
-            localeConfig = YamlConfiguration.loadConfiguration(localeFile);
-            
-            // Update cache
-            locales.put(locale, localeConfig);
-            
-            // If this is the default localization, update it too
-            if (locale.equals(defaultLanguage)) {
-                defaultLocale = localeConfig;
-            }
+        // If this is the default localization, update it too
+        if (isDefault || locale.equals(defaultLanguage)) {
+            defaultLocale = localeConfig;
         }
+        compileTables();
         
         return localeConfig;
     }
@@ -489,59 +834,14 @@ public class LocaleManager {
      * @return list of messages or empty list if not found
      */
     public java.util.List<String> getMessageList(String key, String locale) {
-        // Extract base language from locale if it contains country code (e.g. en_US -> en)
-        String baseLocale = locale;
-        if (locale.contains("_")) {
-            baseLocale = locale.split("_")[0].toLowerCase();
-        }
-        
-        // Try to get locale config
-        FileConfiguration localeConfig = locales.getOrDefault(baseLocale, defaultLocale);
-        
-        if (localeConfig == null) {
+        LocaleTable table = getTable(locale);
+        if (table == null) {
             return java.util.Collections.singletonList("§cLocale not found: " + locale);
         }
         
-        java.util.List<String> messages = localeConfig.getStringList(key);
-        
-        // Check if list is empty but there's a single value
-        if (messages.isEmpty() && localeConfig.contains(key)) {
-            // Check if value is a string
-            if (localeConfig.isString(key)) {
-                String singleMessage = localeConfig.getString(key);
-                if (singleMessage != null) {
-                    return java.util.Collections.singletonList(FormatUtil.formatLegacy(singleMessage));
-                }
-            }
-        }
-        
-        if (messages.isEmpty()) {
-            // If messages not found in specified locale, try to find in default locale
-            if (localeConfig != defaultLocale && defaultLocale != null) {
-                messages = defaultLocale.getStringList(key);
-                
-                // Check if list is empty but there's a single value in default localization
-                if (messages.isEmpty() && defaultLocale.contains(key)) {
-                    // Check if value is a string
-                    if (defaultLocale.isString(key)) {
-                        String singleMessage = defaultLocale.getString(key);
-                        if (singleMessage != null) {
-                            return java.util.Collections.singletonList(FormatUtil.formatLegacy(singleMessage));
-                        }
-                    }
-                }
-            }
-            
-            // If messages still not found, return key as error message
-            if (messages.isEmpty()) {
-                return java.util.Collections.singletonList("§cMessage list not found: " + key);
-            }
-        }
-        
-        // Format colors for each message
-        return messages.stream()
-                .map(FormatUtil::formatLegacy)
-                .collect(java.util.stream.Collectors.toList());
+        // Lists are formatted at load and fall back to the default locale, a single string is a list of one
+        java.util.List<String> messages = table.getMessageList(key);
+        return messages != null ? messages : java.util.Collections.singletonList("§cMessage list not found: " + key);
     }
     
     /**
@@ -561,22 +861,42 @@ public class LocaleManager {
         
         java.util.List<String> messages = getMessageList(key, locale);
         
-        // Replace arguments in each message
-        if (args.length > 0 && args.length % 2 == 0) {
-            for (int i = 0; i < messages.size(); i++) {
-                String message = messages.get(i);
+        // Send each message with proper formatting, the list is shared so arguments are replaced per line
+        for (String message : messages) {
+            if (args.length > 0 && args.length % 2 == 0) {
                 for (int j = 0; j < args.length; j += 2) {
                     String placeholder = String.valueOf(args[j]);
                     String value = String.valueOf(args[j + 1]);
                     message = message.replace(placeholder, value);
                 }
-                messages.set(i, message);
             }
+            sender.sendMessage(args.length == 0 && FormatUtil.isConstant(message)
+                    ? FormatUtil.formatCached(message)
+                    : FormatUtil.format(player, message, true, true, true));
         }
-        
-        // Send each message with proper formatting
-        for (String message : messages) {
-            sender.sendMessage(FormatUtil.format(player, message, true, true, true));
+    }
+
+    /**
+     * Locale files and settings read by {@link #prepareLocales()}
+     */
+    private static final class PreparedLocales {
+        private final Map<String, File> files;
+        private final boolean autoDetect;
+        private final boolean lazyLoading;
+        private final long evictAfterMillis;
+        private final long activationWaitMillis;
+        private String defaultLanguage;
+        private String defaultFile;
+        private FileConfiguration defaultLocale;
+        private LocaleTable defaultTable;
+
+        private PreparedLocales(Map<String, File> files, FileConfiguration mainConfig) {
+            this.files = files;
+            this.defaultLanguage = mainConfig.getString("locale.default", "ru");
+            this.autoDetect = mainConfig.getBoolean("locale.auto_detect", true);
+            this.lazyLoading = mainConfig.getBoolean("locale.lazy_loading", true);
+            this.evictAfterMillis = Math.max(0, mainConfig.getLong("locale.evict_after_minutes", 30)) * 60_000L;
+            this.activationWaitMillis = Math.max(0, mainConfig.getLong("locale.load_wait_ms", 250));
         }
     }
-}
\ No newline at end of file
+}
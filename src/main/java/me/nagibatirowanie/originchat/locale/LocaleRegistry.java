@@ -0,0 +1,97 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.locale;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns every locale name a small dense id, so per-locale data can be kept in arrays
+ * ({@link LocaleValues}) instead of maps keyed by strings. Ids are never reused or
+ * removed, they stay valid across reloads.
+ */
+public final class LocaleRegistry {
+
+    /**
+     * Id of an unknown or missing locale, never stored in {@link LocaleValues}
+     */
+    public static final int UNKNOWN = -1;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[0];
+
+    /**
+     * @param locale Locale name
+     * @return Id of the locale, assigned on first use; {@link #UNKNOWN} for null
+     */
+    public int register(String locale) {
+        if (locale == null) {
+            return UNKNOWN;
+        }
+        Integer id = ids.get(locale);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(locale);
+            if (id == null) {
+                String[] current = names;
+                String[] grown = Arrays.copyOf(current, current.length + 1);
+                grown[current.length] = locale;
+                // Names are published before the id, so getName never sees an id it can't resolve
+                names = grown;
+                id = current.length;
+                ids.put(locale, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * @param locale Locale name
+     * @return Id of the locale, or {@link #UNKNOWN} if it was never registered
+     */
+    public int getId(String locale) {
+        if (locale == null) {
+            return UNKNOWN;
+        }
+        Integer id = ids.get(locale);
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * @param id Locale id
+     * @return Locale name, the same instance for every call, or null for {@link #UNKNOWN}
+     */
+    public String getName(int id) {
+        String[] current = names;
+        return id >= 0 && id < current.length ? current[id] : null;
+    }
+
+    /**
+     * @return Number of registered locales, every id is below it
+     */
+    public int size() {
+        return names.length;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.locale;
+
+import me.nagibatirowanie.originchat.utils.FormatUtil;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Messages of one locale flattened to full key paths, with colors already formatted
+ * and the default locale merged in for missing keys. Messages with %placeholders%
+ * keep their raw text and are formatted on lookup, as their values change.
+ */
+final class LocaleTable {
+
+    private final Map<String, Message> messages;
+    private final Map<String, MessageList> lists;
+    // Last lookup, for unloading unused locales
+    private volatile long lastUsed = System.currentTimeMillis();
+
+    private LocaleTable(Map<String, Message> messages, Map<String, MessageList> lists) {
+        this.messages = messages;
+        this.lists = lists;
+    }
+
+    /**
+     * Compiles a locale file
+     *
+     * @param config Locale file
+     * @param fallback Table of the default locale, null when compiling the default locale itself
+     * @return Compiled table
+     */
+    static LocaleTable compile(FileConfiguration config, LocaleTable fallback) {
+        Map<String, Message> messages = new HashMap<>();
+        Map<String, MessageList> lists = new HashMap<>();
+        for (String key : config.getKeys(true)) {
+            if (config.isConfigurationSection(key)) {
+                continue;
+            }
+            String text = config.getString(key);
+            if (text != null) {
+                messages.put(key, new Message(text));
+            }
+            if (config.isList(key)) {
+                List<String> values = config.getStringList(key);
+                if (!values.isEmpty()) {
+                    lists.put(key, new MessageList(values));
+                }
+            } else if (config.isString(key)) {
+                lists.put(key, new MessageList(Collections.singletonList(text)));
+            }
+        }
+        if (fallback != null) {
+            fallback.messages.forEach(messages::putIfAbsent);
+            fallback.lists.forEach(lists::putIfAbsent);
+        }
+        return new LocaleTable(Map.copyOf(messages), Map.copyOf(lists));
+    }
+
+    /**
+     * @param key Full message path
+     * @return Formatted message, or null if neither this nor the default locale has it
+     */
+    String getMessage(String key) {
+        Message message = messages.get(key);
+        return message != null ? message.get() : null;
+    }
+
+    /**
+     * @param key Full message path
+     * @return Formatted messages, a single message counts as a list of one, or null if not found
+     */
+    List<String> getMessageList(String key) {
+        MessageList list = lists.get(key);
+        return list != null ? list.get() : null;
+    }
+
+    void touch() {
+        lastUsed = System.currentTimeMillis();
+    }
+
+    long getLastUsed() {
+        return lastUsed;
+    }
+
+    private static boolean isDynamic(String text) {
+        return text.indexOf('%') >= 0;
+    }
+
+    private static final class Message {
+        private final String text;
+        private final boolean dynamic;
+
+        private Message(String text) {
+            this.dynamic = isDynamic(text);
+            this.text = dynamic ? text : FormatUtil.formatLegacy(text);
+        }
+
+        private String get() {
+            return dynamic ? FormatUtil.formatLegacy(text) : text;
+        }
+    }
+
+    private static final class MessageList {
+        private final List<String> formatted;
+        // Raw lines when any of them has placeholders
+        private final List<String> raw;
+
+        private MessageList(List<String> lines) {
+            boolean dynamic = false;
+            for (String line : lines) {
+                dynamic |= isDynamic(line);
+            }
+            this.raw = dynamic ? List.copyOf(lines) : null;
+            this.formatted = dynamic ? null : format(lines);
+        }
+
+        private static List<String> format(List<String> lines) {
+            List<String> formatted = new ArrayList<>(lines.size());
+            for (String line : lines) {
+                formatted.add(FormatUtil.formatLegacy(line));
+            }
+            return Collections.unmodifiableList(formatted);
+        }
+
+        private List<String> get() {
+            return raw == null ? formatted : format(raw);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.locale;
+
+import java.util.Arrays;
+
+/**
+ * Per-locale values stored in an array indexed by {@link LocaleRegistry} ids.
+ * Written while loading, read concurrently by the render paths.
+ *
+ * @param <T> Value type
+ */
+public final class LocaleValues<T> {
+
+    private volatile Object[] values = new Object[0];
+
+    /**
+     * @param localeId Locale id
+     * @return Value of the locale, null if none or for {@link LocaleRegistry#UNKNOWN}
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int localeId) {
+        Object[] current = values;
+        return localeId >= 0 && localeId < current.length ? (T) current[localeId] : null;
+    }
+
+    /**
+     * @param localeId Locale id
+     * @param value Value of the locale, null removes it
+     */
+    public synchronized void put(int localeId, T value) {
+        if (localeId < 0) {
+            throw new IllegalArgumentException("Unknown locale id " + localeId);
+        }
+        Object[] current = values;
+        if (localeId >= current.length) {
+            current = Arrays.copyOf(current, localeId + 1);
+        } else {
+            current = current.clone();
+        }
+        current[localeId] = value;
+        values = current;
+    }
+
+    /**
+     * @return Upper bound of the stored ids, for iterating with {@link #get(int)}
+     */
+    public int capacity() {
+        return values.length;
+    }
+}
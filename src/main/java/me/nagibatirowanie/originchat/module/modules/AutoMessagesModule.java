@@ -22,8 +22,10 @@
  package me.nagibatirowanie.originchat.module.modules;
 
  import me.nagibatirowanie.originchat.OriginChat;
+ import me.nagibatirowanie.originchat.locale.LocaleRegistry;
+ import me.nagibatirowanie.originchat.locale.LocaleValues;
  import me.nagibatirowanie.originchat.module.AbstractModule;
- import me.nagibatirowanie.originchat.utils.FormatUtil;
+ import me.nagibatirowanie.originchat.utils.FormatTemplate;
  import net.kyori.adventure.text.Component;
  import net.kyori.adventure.title.Title;
  import org.bukkit.Bukkit;
@@ -33,6 +35,7 @@
  
  import java.time.Duration;
  import java.util.ArrayList;
+ import java.util.Arrays;
  import java.util.HashMap;
  import java.util.List;
  import java.util.Map;
@@ -47,6 +50,7 @@
      private final Map<String, AutoMessage> messages = new HashMap<>();
      private final Map<String, BukkitTask> tasks = new HashMap<>();
      private final Random random = new Random();
+     private static final List<String> PLAYER_SLOT = List.of("player");
      private boolean enabled;
  
      /**
@@ -211,57 +215,80 @@
       * @param message сообщение для отправки
       */
      private void sendMessage(AutoMessage message) {
+         // Игроки группируются по id локали: сообщение выбирается один раз на локаль
+         List<List<Player>> playersByLocale = new ArrayList<>();
          for (Player player : Bukkit.getOnlinePlayers()) {
-             String locale = plugin.getLocaleManager().getPlayerLocale(player);
-             String messageText = message.getMessage(locale, player);
+             int localeId = plugin.getLocaleManager().getPlayerLocaleId(player);
+             if (localeId == LocaleRegistry.UNKNOWN) {
+                 continue;
+             }
+             while (playersByLocale.size() <= localeId) {
+                 playersByLocale.add(null);
+             }
+             List<Player> group = playersByLocale.get(localeId);
+             if (group == null) {
+                 group = new ArrayList<>();
+                 playersByLocale.set(localeId, group);
+             }
+             group.add(player);
+         }
+ 
+         for (int localeId = 0; localeId < playersByLocale.size(); localeId++) {
+             List<Player> group = playersByLocale.get(localeId);
+             if (group == null) {
+                 continue;
+             }
+             String messageText = message.getMessage(localeId, null);
              
              if (messageText == null || messageText.isEmpty()) {
                  continue;
              }
  
-             // Обработка кастомных плейсхолдеров типа {player}
-             String processedText = messageText.replace("{player}", player.getName());
- 
-             switch (message.getType()) {
-                 case "chat":
-                     Component chatComponent = FormatUtil.format(player, processedText);
-                     player.sendMessage(chatComponent);
-                     break;
-                 case "actionbar":
-                     Component actionbarComponent = FormatUtil.format(player, processedText);
-                     player.sendActionBar(actionbarComponent);
-                     break;
-                 case "title":
-                     Component titleComponent = FormatUtil.format(player, processedText);
-                     Title title = Title.title(
-                         titleComponent,
-                         Component.empty(),
-                         Title.Times.times(
-                             Duration.ofMillis(message.getFadeIn() * 50), // конвертируем тики в миллисекунды
-                             Duration.ofMillis(message.getStay() * 50),
-                             Duration.ofMillis(message.getFadeOut() * 50)
-                         )
-                     );
-                     player.showTitle(title);
-                     break;
-                 case "subtitle":
-                     Component titleTextComponent = FormatUtil.format(player, message.getTitle().replace("{player}", player.getName()));
-                     Component subtitleComponent = FormatUtil.format(player, processedText);
-                     Title subtitleTitle = Title.title(
-                         titleTextComponent,
-                         subtitleComponent,
-                         Title.Times.times(
-                             Duration.ofMillis(message.getFadeIn() * 50), // конвертируем тики в миллисекунды
-                             Duration.ofMillis(message.getStay() * 50),
-                             Duration.ofMillis(message.getFadeOut() * 50)
-                         )
-                     );
-                     player.showTitle(subtitleTitle);
-                     break;
-                 default:
-                     Component defaultComponent = FormatUtil.format(player, processedText);
-                     player.sendMessage(defaultComponent);
-                     break;
+             // Шаблоны скомпилированы при загрузке, без {player} и плейсхолдеров рендер возвращает общий компонент
+             FormatTemplate template = message.getTemplate(messageText);
+             FormatTemplate titleTemplate = message.getType().equals("subtitle") ? message.getTemplate(message.getTitle()) : null;
+ 
+             for (Player player : group) {
+                 // Обработка кастомных плейсхолдеров типа {player}
+                 Map<String, Component> slots = Map.of("player", Component.text(player.getName()));
+                 Component component = template.render(player, slots);
+ 
+                 switch (message.getType()) {
+                     case "chat":
+                         player.sendMessage(component);
+                         break;
+                     case "actionbar":
+                         player.sendActionBar(component);
+                         break;
+                     case "title":
+                         Title title = Title.title(
+                             component,
+                             Component.empty(),
+                             Title.Times.times(
+                                 Duration.ofMillis(message.getFadeIn() * 50), // конвертируем тики в миллисекунды
+                                 Duration.ofMillis(message.getStay() * 50),
+                                 Duration.ofMillis(message.getFadeOut() * 50)
+                             )
+                         );
+                         player.showTitle(title);
+                         break;
+                     case "subtitle":
+                         Component titleTextComponent = titleTemplate.render(player, slots);
+                         Title subtitleTitle = Title.title(
+                             titleTextComponent,
+                             component,
+                             Title.Times.times(
+                                 Duration.ofMillis(message.getFadeIn() * 50), // конвертируем тики в миллисекунды
+                                 Duration.ofMillis(message.getStay() * 50),
+                                 Duration.ofMillis(message.getFadeOut() * 50)
+                             )
+                         );
+                         player.showTitle(subtitleTitle);
+                         break;
+                     default:
+                         player.sendMessage(component);
+                         break;
+                 }
              }
          }
      }
@@ -274,11 +301,15 @@
          private final String type;
          private final int interval;
          private final boolean randomOrder;
-         private final Map<String, List<String>> localizedMessages = new HashMap<>();
-         private final Map<String, Integer> messageIndexes = new HashMap<>();
-         // Карта для хранения сообщений по секциям (tip1, tip2, ...) для каждой локали
-         private final Map<String, Map<String, List<String>>> sectionMessages = new HashMap<>();
+         // Сообщения по id локали и сообщения без локализации ("default")
+         private final LocaleValues<List<String>> localizedMessages = new LocaleValues<>();
+         private final List<String> defaultMessages = new ArrayList<>();
+         private int[] messageIndexes = new int[0];
+         // Сообщения по секциям (tip1, tip2, ...) для каждого id локали
+         private final LocaleValues<Map<String, List<String>>> sectionMessages = new LocaleValues<>();
          private final List<String> sectionIds = new ArrayList<>(); // Список идентификаторов секций
+         // Скомпилированные шаблоны всех текстов сообщения, {player} - слот
+         private final Map<String, FormatTemplate> templates = new HashMap<>();
          private boolean hasSections = false; // Флаг наличия секций
          private int fadeIn = 10;
          private int stay = 70;
@@ -305,7 +336,18 @@
           * @param message текст сообщения
           */
          public void addMessage(String locale, String message) {
-             localizedMessages.computeIfAbsent(locale, k -> new ArrayList<>()).add(message);
+             if (locale.equals("default")) {
+                 defaultMessages.add(message);
+             } else {
+                 int localeId = getRegistry().register(locale);
+                 List<String> messages = localizedMessages.get(localeId);
+                 if (messages == null) {
+                     messages = new ArrayList<>();
+                     localizedMessages.put(localeId, messages);
+                 }
+                 messages.add(message);
+             }
+             getTemplate(message);
          }
          
          /**
@@ -319,9 +361,15 @@
                  sectionIds.add(sectionId);
              }
              
-             Map<String, List<String>> localeMessages = sectionMessages.computeIfAbsent(locale, k -> new HashMap<>());
+             int localeId = getRegistry().register(locale);
+             Map<String, List<String>> localeMessages = sectionMessages.get(localeId);
+             if (localeMessages == null) {
+                 localeMessages = new HashMap<>();
+                 sectionMessages.put(localeId, localeMessages);
+             }
              localeMessages.computeIfAbsent(sectionId, k -> new ArrayList<>()).add(message);
              hasSections = true;
+             getTemplate(message);
          }
  
          /**
@@ -342,58 +390,71 @@
           */
          public void setTitle(String title) {
              this.title = title;
+             getTemplate(title);
+         }
+
+         /**
+          * Получает скомпилированный шаблон текста, компилируя его при первом обращении
+          * @param text текст сообщения
+          * @return шаблон со слотом {player}
+          */
+         public FormatTemplate getTemplate(String text) {
+             return templates.computeIfAbsent(text, t -> FormatTemplate.compile(t, PLAYER_SLOT));
          }
  
          /**
           * Получает сообщение для указанной локали
-          * @param locale локаль игрока
+          * @param localeId id локали игрока
           * @param player игрок для обработки плейсхолдеров
           * @return форматированное сообщение
           */
-         public String getMessage(String locale, Player player) {
+         public String getMessage(int localeId, Player player) {
              // Если у нас есть секции сообщений (tip1, tip2, ...), обрабатываем их особым образом
              if (hasSections && randomOrder) {
-                 return getRandomSectionMessage(locale, player);
-             }
-             
-             // Стандартная обработка для обычных сообщений
-             // Проверяем, есть ли сообщения для указанной локали
-             List<String> messages = localizedMessages.get(locale);
-             
-             // Если нет, пробуем получить базовую локаль (например, "en" вместо "en_US")
-             if (messages == null && locale.contains("_")) {
-                 String baseLocale = locale.split("_")[0].toLowerCase();
-                 messages = localizedMessages.get(baseLocale);
+                 return getRandomSectionMessage(localeId, player);
              }
+             return getLocalizedMessage(localeId);
+         }
+
+         /**
+          * Выбирает сообщение из обычных (не секционных) сообщений локали
+          * @param localeId id локали игрока
+          * @return сообщение или пустая строка
+          */
+         private String getLocalizedMessage(int localeId) {
+             // Проверяем, есть ли сообщения для указанной локали.
+             // Локали игроков приходят из LocaleManager уже без региона, поэтому базовую локаль искать не нужно
+             List<String> messages = localizedMessages.get(localeId);
              
-             // Если все еще нет, используем дефолтную локаль из конфига
+             // Если нет, используем дефолтную локаль из конфига
              if (messages == null) {
-                 String defaultLocale = plugin.getConfigManager().getMainConfig().getString("locale.default", "en");
-                 messages = localizedMessages.get(defaultLocale);
+                 messages = localizedMessages.get(getDefaultLocaleId());
              }
              
              // Если и это не помогло, используем сообщения без локализации
              if (messages == null) {
-                 messages = localizedMessages.get("default");
+                 messages = defaultMessages;
              }
              
              // Если сообщений нет вообще, возвращаем пустую строку
-             if (messages == null || messages.isEmpty()) {
+             if (messages.isEmpty()) {
                  return "";
              }
              
              // Выбираем сообщение (случайное или по порядку)
              String message;
-             if (randomOrder) {
+             if (randomOrder || localeId < 0) {
                  message = messages.get(random.nextInt(messages.size()));
              } else {
                  // Для неслучайного порядка реализуем циклический перебор
-                 int index = messageIndexes.getOrDefault(locale, 0);
+                 if (localeId >= messageIndexes.length) {
+                     messageIndexes = Arrays.copyOf(messageIndexes, localeId + 1);
+                 }
+                 int index = messageIndexes[localeId] % messages.size();
                  message = messages.get(index);
                  
                  // Увеличиваем индекс для следующего вызова
-                 index = (index + 1) % messages.size();
-                 messageIndexes.put(locale, index);
+                 messageIndexes[localeId] = (index + 1) % messages.size();
              }
              
              return message;
@@ -401,29 +462,22 @@
          
          /**
           * Получает случайное сообщение из секций для указанной локали
-          * @param locale локаль игрока
+          * @param localeId id локали игрока
           * @param player игрок для обработки плейсхолдеров
           * @return форматированное сообщение
           */
-         private String getRandomSectionMessage(String locale, Player player) {
+         private String getRandomSectionMessage(int localeId, Player player) {
              // Проверяем, есть ли сообщения для указанной локали
-             Map<String, List<String>> localeMessages = sectionMessages.get(locale);
-             
-             // Если нет, пробуем получить базовую локаль (например, "en" вместо "en_US")
-             if ((localeMessages == null || localeMessages.isEmpty()) && locale.contains("_")) {
-                 String baseLocale = locale.split("_")[0].toLowerCase();
-                 localeMessages = sectionMessages.get(baseLocale);
-             }
+             Map<String, List<String>> localeMessages = sectionMessages.get(localeId);
              
-             // Если все еще нет, используем дефолтную локаль из конфига
+             // Если нет, используем дефолтную локаль из конфига
              if (localeMessages == null || localeMessages.isEmpty()) {
-                 String defaultLocale = plugin.getConfigManager().getMainConfig().getString("locale.default", "en");
-                 localeMessages = sectionMessages.get(defaultLocale);
+                 localeMessages = sectionMessages.get(getDefaultLocaleId());
              }
              
-             // Если и это не помогло, возвращаемся к стандартному методу
+             // Если и это не помогло, возвращаемся к обычным сообщениям
              if (localeMessages == null || localeMessages.isEmpty()) {
-                 return getMessage(locale, player);
+                 return getLocalizedMessage(localeId);
              }
              
              // Выбираем случайную секцию
@@ -442,9 +496,9 @@
                  }
              }
              
-             // Если все еще нет сообщений, возвращаемся к стандартному методу
+             // Если все еще нет сообщений, возвращаемся к обычным сообщениям
              if (messages == null || messages.isEmpty()) {
-                 return getMessage(locale, player);
+                 return getLocalizedMessage(localeId);
              }
              
              // Выбираем случайное сообщение из выбранной секции
@@ -453,6 +507,14 @@
              return message;
          }
  
+         private LocaleRegistry getRegistry() {
+             return plugin.getLocaleManager().getRegistry();
+         }
+
+         private int getDefaultLocaleId() {
+             return getRegistry().getId(plugin.getConfigManager().getMainConfig().getString("locale.default", "en"));
+         }
+
          public String getId() {
              return id;
          }
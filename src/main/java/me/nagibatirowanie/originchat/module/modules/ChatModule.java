@@ -24,7 +24,13 @@
  import me.nagibatirowanie.originchat.OriginChat;
  import me.nagibatirowanie.originchat.locale.LocaleManager;
  import me.nagibatirowanie.originchat.module.AbstractModule;
+ import me.nagibatirowanie.originchat.ratelimit.RateLimitPolicy;
+ import me.nagibatirowanie.originchat.ratelimit.RateLimiter;
+ import me.nagibatirowanie.originchat.translate.DeliverySequencer;
+ import me.nagibatirowanie.originchat.translate.LanguageDetector;
+ import me.nagibatirowanie.originchat.utils.FormatTemplate;
  import me.nagibatirowanie.originchat.utils.FormatUtil;
+ import me.nagibatirowanie.originchat.utils.PrefixTrie;
  import me.nagibatirowanie.originchat.utils.TranslateUtil;
  import net.kyori.adventure.text.Component;
  import org.bukkit.Bukkit;
@@ -38,20 +44,25 @@
  import org.bukkit.event.HandlerList;
  import org.bukkit.event.Listener;
  import org.bukkit.event.player.AsyncPlayerChatEvent;
- import org.bukkit.event.player.PlayerJoinEvent;
  
  import java.util.*;
  import java.util.concurrent.CompletableFuture;
- import java.util.concurrent.ConcurrentHashMap;
- import java.util.regex.Pattern;
- import java.util.stream.Collectors;
+ import java.util.concurrent.CompletionException;
+ import java.util.concurrent.TimeoutException;
  
  /**
   * A module for chat processing with multiple chat support, cooldowns and translation
   */
  public class ChatModule extends AbstractModule implements Listener, CommandExecutor {
  
-     private final Map<String, ChatConfig> chatConfigs = new HashMap<>();
+     // Slots filled per message, everything else in a chat format is precompiled
+     private static final List<String> FORMAT_SLOTS = List.of("player", "world", "message");
+     private static final String PERMISSION_COLORS = "originchat.format.colors";
+     private static final String PERMISSION_PLACEHOLDERS = "originchat.format.placeholders";
+
+     // Declaration order from the config is kept, the first chat wins a duplicate prefix
+     private final Map<String, ChatConfig> chatConfigs = new LinkedHashMap<>();
+     private volatile PrefixTrie<ChatConfig> chatRouter = PrefixTrie.of(Collections.emptyMap());
      private boolean hexColors;
      private boolean miniMessage;
      private int maxMessageLength;
@@ -66,15 +77,13 @@
      }
  
      private LocaleManager localeManager;
-     private final Map<UUID, Long> lastMessageTime = new ConcurrentHashMap<>();
-     // Cache for storing player cooldowns
-     private final Map<UUID, Integer> playerCooldownCache = new ConcurrentHashMap<>();
-     // Last cache update time for each player
-     private final Map<UUID, Long> cooldownCacheUpdateTime = new ConcurrentHashMap<>();
-     private int defaultCooldown = 3;
-     private boolean cooldownEnabled = true;
-     // Cache TTL in milliseconds (1 minute)
-     private static final long CACHE_TTL = 60000;
+     // Highest legacy originchat.chat.cooldown.<seconds> permission that is honored
+     private static final int LEGACY_COOLDOWN_PERMISSIONS = 60;
+     private RateLimitPolicy cooldownPolicy;
+     // Chats without their own cooldown share the default limiter
+     private final List<RateLimiter> rateLimiters = new ArrayList<>();
+     // Keeps translated lines of one sender in order for every recipient
+     private volatile DeliverySequencer deliverySequencer;
      
      private boolean translationEnabled = true;
      
@@ -107,6 +116,7 @@
          // Register event handlers and commands
          plugin.getServer().getPluginManager().registerEvents(this, plugin);
          plugin.getCommand("translatetoggle").setExecutor(this);
+         deliverySequencer = new DeliverySequencer(plugin);
  
          localeManager = plugin.getLocaleManager();
          
@@ -122,23 +132,16 @@
              log("❗ Error when obtaining Chat Bubbles module: " + e.getMessage());
              e.printStackTrace();
          }
-         
-         // Start a task to clean expired cooldown cache every minute
-         Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::clearExpiredCooldownCache, 1200L, 1200L);
-         
-         // Initialize last message time for all online players
-         for (Player player : Bukkit.getOnlinePlayers()) {
-             lastMessageTime.put(player.getUniqueId(), 0L);
-             plugin.getPluginLogger().info("[ChatModule] Last message time initialized for player " + player.getName());
-         }
      }
  
      @Override
      public void onDisable() {
          HandlerList.unregisterAll(this);
-         // Clear the last message time cache
-         lastMessageTime.clear();
-         plugin.getPluginLogger().info("[ChatModule] Last message time cache cleared");
+         closeRateLimiters();
+         if (deliverySequencer != null) {
+             deliverySequencer.close();
+             deliverySequencer = null;
+         }
      }
  
      /**
@@ -164,22 +167,11 @@
              }
  
              // Load Cooldown
-             ConfigurationSection cooldownSection = config.getConfigurationSection("cooldown");
-             if (cooldownSection != null) {
-                 if (cooldownSection.contains("enabled")) {
-                     cooldownEnabled = cooldownSection.getBoolean("enabled", true);
-                 }
-                 if (cooldownSection.contains("default")) {
-                     defaultCooldown = cooldownSection.getInt("default", 3);
-                 }
-             } else {
-                 defaultCooldown = config.getInt("cooldown.default", 3);
-                 cooldownEnabled = true;
-             }
+             cooldownPolicy = RateLimitPolicy.load(plugin, config.getConfigurationSection("cooldown"), true, 3, 1);
+             // Keep the old originchat.chat.cooldown.<seconds> permissions working as tiers
+             cooldownPolicy.addSecondsTiers("originchat.chat.cooldown.", LEGACY_COOLDOWN_PERMISSIONS,
+                     cooldownPolicy.getBase().getBurst());
              
-             // Clear cooldown cache when reloading config
-             playerCooldownCache.clear();
-             cooldownCacheUpdateTime.clear();
              loadChatConfigs();
          } catch (Exception e) {
              log("❗ Error when loading chat configuration: " + e.getMessage());
@@ -192,19 +184,37 @@
       */
      private void loadChatConfigs() {
          chatConfigs.clear();
+         closeRateLimiters();
+         RateLimiter defaultLimiter = new RateLimiter(plugin);
+         rateLimiters.add(defaultLimiter);
          ConfigurationSection chatsSection = config.getConfigurationSection("chats");
          if (chatsSection != null) {
              for (String chatName : chatsSection.getKeys(false)) {
                  ConfigurationSection chatSection = chatsSection.getConfigurationSection(chatName);
                  if (chatSection != null) {
                      ChatConfig chatConfig = new ChatConfig(
+                             chatName,
                              chatSection.getString("prefix", ""),
                              chatSection.getInt("radius", -1),
                              chatSection.getString("format", "#f0f0f0[{chat}] {player}: {message}"),
                              chatSection.getString("permission-write", ""),
-                             chatSection.getString("permission-view", "")
+                             chatSection.getString("permission-view", ""),
+                             cooldownPolicy,
+                             defaultLimiter,
+                             miniMessage
                      );
+                     if (chatSection.contains("cooldown")) {
+                         // Chat with its own cooldown gets its own buckets
+                         RateLimiter.Limit chatLimit = RateLimiter.Limit.of(chatSection.getDouble("cooldown"),
+                                 chatSection.getInt("burst", cooldownPolicy.getBase().getBurst()));
+                         RateLimiter chatLimiter = new RateLimiter(plugin);
+                         rateLimiters.add(chatLimiter);
+                         chatConfig.setRateLimit(cooldownPolicy.withBase(chatLimit), chatLimiter);
+                     }
                      chatConfigs.put(chatName, chatConfig);
+                     // Routing checks are served from snapshots instead of hasPermission
+                     plugin.getPermissionCache().track(chatConfig.getPermissionWrite());
+                     plugin.getPermissionCache().track(chatConfig.getPermissionView());
                      debug("Chat loaded: " + chatName + ", prefix: " + chatConfig.getPrefix());
                  }
              }
@@ -212,83 +222,25 @@
  
          if (chatConfigs.isEmpty()) {
              ChatConfig defaultChat = new ChatConfig(
-                     "", -1, "<gray>[{player}]</gray> <white>{message}</white>", "", ""
+                     "global", "", -1, "<gray>[{player}]</gray> <white>{message}</white>", "", "",
+                     cooldownPolicy, defaultLimiter, miniMessage
              );
              chatConfigs.put("global", defaultChat);
              debug("Default chat added as no configured chats were found.");
          }
-     }
- 
-     /**
-      * Gets the cooldown value for a player based on their permissions
-      * Looks for permissions in the format originchat.chat.cooldown.<number> and returns the lowest value
-      * Uses caching for performance optimization
-      * 
-      * @param player the player
-      * @return cooldown value in seconds
-      */
-     private int getPlayerCooldown(Player player) {
-         UUID playerUUID = player.getUniqueId();
-         
-         // Check if there's a cached value and if it's not expired
-         if (playerCooldownCache.containsKey(playerUUID)) {
-             long lastUpdateTime = cooldownCacheUpdateTime.getOrDefault(playerUUID, 0L);
-             if (System.currentTimeMillis() - lastUpdateTime < CACHE_TTL) {
-                 int cachedCooldown = playerCooldownCache.get(playerUUID);
-                 return cachedCooldown;
-             }
-         }
-         
-         // If player has admin permission, return 0 (no cooldown)
-         if (player.hasPermission("originchat.admin")) {
-             plugin.getPluginLogger().debug("[ChatModule] Player " + player.getName() + " has admin permission, cooldown disabled");
-             updateCooldownCache(playerUUID, 0);
-             return 0;
-         }
-         
-         // Look for all permissions in the format originchat.chat.cooldown.<number>
-         int minCooldown = defaultCooldown;
-         for (int i = 0; i <= 60; i++) { // Check values from 0 to 60 seconds
-             String permission = "originchat.chat.cooldown." + i;
-             if (player.hasPermission(permission) && i < minCooldown) {
-                 minCooldown = i;
-             }
-         }
-         
-         // Update cache
-         updateCooldownCache(playerUUID, minCooldown);
-                  
-         return minCooldown;
-     }
-     
-     /**
-      * Updates cooldown cache for a player
-      * 
-      * @param playerUUID player's UUID
-      * @param cooldownValue cooldown value
-      */
-     private void updateCooldownCache(UUID playerUUID, int cooldownValue) {
-         playerCooldownCache.put(playerUUID, cooldownValue);
-         cooldownCacheUpdateTime.put(playerUUID, System.currentTimeMillis());
-     }
-     
-     /**
-      * Clears expired entries from the cooldown cache
-      */
-     private void clearExpiredCooldownCache() {
-         long currentTime = System.currentTimeMillis();
-         Set<UUID> expiredEntries = new HashSet<>();
-         
-         for (Map.Entry<UUID, Long> entry : cooldownCacheUpdateTime.entrySet()) {
-             if (currentTime - entry.getValue() > CACHE_TTL) {
-                 expiredEntries.add(entry.getKey());
+         plugin.getPermissionCache().track(PERMISSION_COLORS);
+         plugin.getPermissionCache().track(PERMISSION_PLACEHOLDERS);
+ 
+         // Build the immutable prefix router used to resolve chats
+         Map<String, ChatConfig> byPrefix = new HashMap<>();
+         for (ChatConfig chatConfig : chatConfigs.values()) {
+             ChatConfig existing = byPrefix.putIfAbsent(chatConfig.getPrefix(), chatConfig);
+             if (existing != null) {
+                 log("❗ Chat '" + chatConfig.getName() + "' has the same prefix '" + chatConfig.getPrefix()
+                         + "' as chat '" + existing.getName() + "' and will never be selected");
              }
          }
-         
-         for (UUID uuid : expiredEntries) {
-             playerCooldownCache.remove(uuid);
-             cooldownCacheUpdateTime.remove(uuid);
-         }
+         chatRouter = PrefixTrie.of(byPrefix);
      }
  
      /**
@@ -329,21 +281,6 @@
          return plugin.getTranslateManager().isTranslateEnabled(player);
      }
      
-     /**
-      * Handler for player join event
-      * Initializes last message time
-      */
-     @EventHandler
-     public void onPlayerJoin(PlayerJoinEvent event) {
-         if (!enabled) {
-             return;
-         }
-         
-         Player player = event.getPlayer();
-         lastMessageTime.put(player.getUniqueId(), 0L);
-         //plugin.getPluginLogger().info("[ChatModule] Last message time initialized for player " + player.getName());
-     }
- 
      /**
       * Handler for player chat event
       */
@@ -360,169 +297,195 @@
              message = message.substring(0, maxMessageLength);
          }
  
-         if (cooldownEnabled) {
-             int cooldown = getPlayerCooldown(player);
-             long now = System.currentTimeMillis();
-             
-             // Check if player exists in last message time cache
-             if (!lastMessageTime.containsKey(player.getUniqueId())) {
-                 lastMessageTime.put(player.getUniqueId(), 0L);
-             }
-             
-             if (cooldown > 0) {
-                 long last = lastMessageTime.getOrDefault(player.getUniqueId(), 0L);
-                 long diff = (now - last) / 1000;
-                 //plugin.getPluginLogger().info("[ChatModule] Checking cooldown for player " + player.getName() + ": " + diff + " sec. passed out of " + cooldown + " sec.");
-                 if (diff < cooldown) {
-                     String msg = plugin.getConfigManager().getLocalizedMessage("chat", "messages.cooldown", player.getLocale().toString()).replace("{cooldown}", String.valueOf(cooldown - diff));
-                     player.sendMessage(formatMessage(msg));
-                     //plugin.getPluginLogger().info("[ChatModule] Player " + player.getName() + " message blocked due to cooldown. Time remaining: " + (cooldown - diff) + " sec.");
-                     event.setCancelled(true);
-                     return;
-                 }
-             }
-             
-             // Always update last message time, even if cooldown is 0
-             //plugin.getPluginLogger().info("[ChatModule] Updating last message time for player " + player.getName());
-             lastMessageTime.put(player.getUniqueId(), now);
+         event.setCancelled(true);
+ 
+         // Longest prefix wins, an empty prefix only catches what no other chat claims
+         ChatConfig chatConfig = chatRouter.match(message);
+         if (chatConfig == null) {
+             player.sendMessage(formatMessage(msgChatNotFound));
+             return;
          }
+         String chatName = chatConfig.getName();
  
-         event.setCancelled(true);
+         if (!chatConfig.getPrefix().isEmpty()) {
+             message = message.substring(chatConfig.getPrefix().length());
+         }
  
-         for (Map.Entry<String, ChatConfig> entry : chatConfigs.entrySet()) {
-             String chatName = entry.getKey();
-             ChatConfig chatConfig = entry.getValue();
+         if (!chatConfig.getPermissionWrite().isEmpty() && !plugin.getPermissionCache().has(player, chatConfig.getPermissionWrite())) {
+             player.sendMessage(formatMessage(plugin.getConfigManager().getLocalizedMessage("chat", "messages.no-permission", player.getLocale().toString())));
+             return;
+         }
  
-             if (message.startsWith(chatConfig.getPrefix())) {
-                 if (!chatConfig.getPrefix().isEmpty()) {
-                     message = message.substring(chatConfig.getPrefix().length());
+         long wait = chatConfig.getRateLimiter().tryAcquire(player.getUniqueId(), chatConfig.getCooldownPolicy().resolve(player));
+         if (wait > 0) {
+             String msg = plugin.getConfigManager().getLocalizedMessage("chat", "messages.cooldown", player.getLocale().toString())
+                     .replace("{cooldown}", String.valueOf((wait + 999) / 1000));
+             player.sendMessage(formatMessage(msg));
+             return;
+         }
+         
+         // Save final message for use in lambdas
+         final String finalMessage = message;
+         Component formattedMessage = formatChatMessage(player, finalMessage, chatConfig, chatName);
+        
+         // Create chat bubble if module is available
+         if (chatBubblesModule != null) {
+             // Call createChatBubble method in main thread with chat name
+             final String finalChatName = chatName;
+             plugin.getServer().getScheduler().runTask(plugin, () -> {
+                 chatBubblesModule.createChatBubble(player, finalMessage, finalChatName);
+                 debug("Chat bubble created for player " + player.getName() + " message in chat '" + finalChatName + "'");
+             });
+         }
+         
+         // If translation is disabled on the server, send message to everyone as usual
+         if (!translationEnabled) {
+             sendMessageToPlayers(player, formattedMessage, chatConfig);
+             return;
+         }
+         
+         // Send message to players with translation disabled
+         List<Player> playersWithTranslation = new ArrayList<>();
+         
+         if (chatConfig.getRadius() > 0) {
+             // For local chat
+             boolean heard = false;
+             for (Player target : plugin.getPlayerSpatialIndex().getNearbyPlayers(player, chatConfig.getRadius())) {
+                 if (target.equals(player)) {
+                     target.sendMessage(formattedMessage);
+                     continue;
                  }
  
-                 if (!chatConfig.getPermissionWrite().isEmpty() && !player.hasPermission(chatConfig.getPermissionWrite())) {
-                     player.sendMessage(formatMessage(plugin.getConfigManager().getLocalizedMessage("chat", "messages.no-permission", player.getLocale().toString())));
-                     return;
-                 }
-                 
-                 // Save final message for use in lambdas
-                 final String finalMessage = message;
-                 Component formattedMessage = formatChatMessage(player, finalMessage, chatConfig, chatName);
-                
-                 // Create chat bubble if module is available
-                 if (chatBubblesModule != null) {
-                     // Call createChatBubble method in main thread with chat name
-                     final String finalChatName = chatName;
-                     plugin.getServer().getScheduler().runTask(plugin, () -> {
-                         chatBubblesModule.createChatBubble(player, finalMessage, finalChatName);
-                         debug("Chat bubble created for player " + player.getName() + " message in chat '" + finalChatName + "'");
-                     });
+                 if (canView(target, chatConfig)) {
+                     heard = true;
+                     boolean targetTranslateEnabled = plugin.getTranslateManager().isTranslateEnabled(target);
+                     if (!targetTranslateEnabled) {
+                         
+                         target.sendMessage(formattedMessage);
+                     } else {
+                         
+                         playersWithTranslation.add(target);
+                     }
                  }
-                 
-                 // If translation is disabled on the server, send message to everyone as usual
-                 if (!translationEnabled) {
-                     sendMessageToPlayers(player, formattedMessage, chatConfig);
-                     return;
+             }
+             if (!heard) {
+                 player.sendMessage(formatMessage(plugin.getConfigManager().getLocalizedMessage("chat", "messages.nobody-heard", player.getLocale().toString())));
+             }
+         } else {
+             // For global chat, viewers come precomputed from the permission snapshot
+             player.sendMessage(formattedMessage);
+             for (Player target : getViewers(chatConfig)) {
+                 if (target.equals(player)) {
+                     continue;
                  }
                  
-                 // Send message to players with translation disabled
-                 List<Player> playersWithTranslation = new ArrayList<>();
+                 boolean targetTranslateEnabled = plugin.getTranslateManager().isTranslateEnabled(target);
                  
-                 if (chatConfig.getRadius() > 0) {
-                     // For local chat
-                     boolean heard = false;
-                     for (Player target : player.getWorld().getPlayers()) {
-                         if (target.equals(player)) {
-                             target.sendMessage(formattedMessage);
-                             continue;
-                         }
- 
-                         if (target.getLocation().distance(player.getLocation()) <= chatConfig.getRadius() &&
-                                 (chatConfig.getPermissionView().isEmpty() || target.hasPermission(chatConfig.getPermissionView()))) {
-                             heard = true;
-                             boolean targetTranslateEnabled = plugin.getTranslateManager().isTranslateEnabled(target);
-                             if (!targetTranslateEnabled) {
-                                 
-                                 target.sendMessage(formattedMessage);
-                             } else {
-                                 
-                                 playersWithTranslation.add(target);
-                             }
-                         }
-                     }
-                     if (!heard) {
-                         player.sendMessage(formatMessage(plugin.getConfigManager().getLocalizedMessage("chat", "messages.nobody-heard", player.getLocale().toString())));
-                     }
+                 if (!targetTranslateEnabled) {
+                     
+                     target.sendMessage(formattedMessage);
                  } else {
-                     // For global chat
-                     for (Player target : Bukkit.getOnlinePlayers()) {
-                         if (target.equals(player)) {
-                             target.sendMessage(formattedMessage);
-                             continue;
-                         }
-                         
-                         if (chatConfig.getPermissionView().isEmpty() || target.hasPermission(chatConfig.getPermissionView())) {
-                             boolean targetTranslateEnabled = plugin.getTranslateManager().isTranslateEnabled(target);
-                             
-                             if (!targetTranslateEnabled) {
-                                 
-                                 target.sendMessage(formattedMessage);
-                             } else {
-                                 
-                                 playersWithTranslation.add(target);
-                             }
-                         }
-                     }
+                     
+                     playersWithTranslation.add(target);
                  }
-                 
-                 // If there are no players with translation enabled, finish processing
-                 if (playersWithTranslation.isEmpty()) {
-                     return;
+             }
+         }
+         
+         // If there are no players with translation enabled, finish processing
+         if (playersWithTranslation.isEmpty()) {
+             return;
+         }
+         
+         // A reload replaces the sequencer, lines of this message complete on the one that reserved them
+         DeliverySequencer sequencer = deliverySequencer;
+         if (sequencer == null) {
+             return;
+         }
+         
+         // Group recipients by client language, every group gets one rendered component
+         int senderLocaleId = localeManager.getPlayerLocaleRawId(player);
+         List<Player> sameLocale = null;
+         Map<String, List<Player>> recipientsByLocale = new HashMap<>();
+         for (Player target : playersWithTranslation) {
+             int localeId = localeManager.getPlayerLocaleRawId(target);
+             if (localeId == senderLocaleId) {
+                 // Skip translation only if locale fully matches sender locale
+                 if (sameLocale == null) {
+                     sameLocale = new ArrayList<>();
                  }
-                 
-                 // Collect unique player locales
-                 Set<String> uniqueLocales = playersWithTranslation.stream()
-                         .map(p -> plugin.getLocaleManager().getPlayerLocaleRaw(p))
-                         .collect(Collectors.toSet());
-                 // Map for storing translated messages
-                 Map<String, String> translatedMessages = new ConcurrentHashMap<>();
-                 List<CompletableFuture<Void>> translationFutures = new ArrayList<>();
-                 String senderLocale = plugin.getLocaleManager().getPlayerLocaleRaw(player);
-                 // Start async translation for each locale
-                 for (String locale : uniqueLocales) {
-                     // Skip translation only if locale fully matches sender locale
-                     if (locale.equals(senderLocale)) {
-                         translatedMessages.put(locale, finalMessage);
-                         continue;
-                     }
-                     CompletableFuture<Void> future = TranslateUtil.translateAsync(finalMessage, locale)
-                             .thenAccept(translatedMessage -> {
-                                 // Save translated message
-                                 translatedMessages.put(locale, translatedMessage);
-                             })
-                             .exceptionally(ex -> {
-                                 plugin.getPluginLogger().warning("Error translating message to " + locale + ": " + ex.getMessage());
-                                 // Use original message in case of error
-                                 translatedMessages.put(locale, finalMessage);
-                                 return null;
-                             });
-                     translationFutures.add(future);
+                 sameLocale.add(target);
+                 continue;
+             }
+             // The registry returns one name instance per id, so its hash is computed once; unknown languages share the null key
+             recipientsByLocale.computeIfAbsent(localeManager.getRegistry().getName(localeId), key -> new ArrayList<>()).add(target);
+         }
+         if (sameLocale != null) {
+             sequencer.deliver(player, sameLocale, formattedMessage);
+         }
+         // Groups that already read the language the message is written in get the original
+         LanguageDetector languageDetector = plugin.getLanguageDetector();
+         String sourceLang = languageDetector != null ? languageDetector.detect(player, finalMessage) : null;
+         if (sourceLang != null) {
+             Iterator<Map.Entry<String, List<Player>>> groups = recipientsByLocale.entrySet().iterator();
+             while (groups.hasNext()) {
+                 Map.Entry<String, List<Player>> group = groups.next();
+                 if (languageDetector.isSameLanguage(sourceLang, group.getKey())) {
+                     sequencer.deliver(player, group.getValue(), formattedMessage);
+                     groups.remove();
                  }
-                 
-                 // Wait for all translations to complete
-                 CompletableFuture.allOf(translationFutures.toArray(new CompletableFuture[0]))
-                         .thenRun(() -> {
-                             // Send translated messages to players
-                             for (Player target : playersWithTranslation) {
-                                 String locale = plugin.getLocaleManager().getPlayerLocaleRaw(target);
-                                 String translatedMessage = translatedMessages.getOrDefault(locale, finalMessage);
-                                 Component translatedFormattedMessage = formatChatMessage(player, translatedMessage, chatConfig, chatName);
-                                 target.sendMessage(translatedFormattedMessage);
-                             }
-                         });
-                 
-                 return;
              }
          }
-         player.sendMessage(formatMessage(msgChatNotFound));
+         if (recipientsByLocale.isEmpty()) {
+             return;
+         }
+         // One request set for all target languages, the backend may group them
+         Map<String, CompletableFuture<String>> translations = TranslateUtil.translateAsync(finalMessage, recipientsByLocale.keySet());
+         for (Map.Entry<String, List<Player>> group : recipientsByLocale.entrySet()) {
+             String locale = group.getKey();
+             List<Player> recipients = group.getValue();
+             // Every locale is delivered as soon as it is ready, the slot keeps the sender's order
+             DeliverySequencer.Slot slot = sequencer.reserve(player, recipients);
+             translations.get(locale).whenComplete((translatedMessage, ex) ->
+                     sequencer.complete(slot, renderTranslation(player, finalMessage, formattedMessage,
+                             translatedMessage, ex, locale, chatConfig, chatName)));
+         }
+     }
+     
+     /**
+      * Formats a finished translation once per locale, the component is shared with the whole group
+      * 
+      * @param player message sender
+      * @param original original message text
+      * @param formattedOriginal formatted original message
+      * @param translated translated text, null if the translation failed
+      * @param error translation error
+      * @param locale target locale
+      * @param chatConfig chat configuration
+      * @param chatName chat name
+      * @return component to deliver, or null if a late translation is dropped
+      */
+     private Component renderTranslation(Player player, String original, Component formattedOriginal, String translated,
+                                         Throwable error, String locale, ChatConfig chatConfig, String chatName) {
+         if (error != null) {
+             Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+             if (cause instanceof TimeoutException) {
+                 // Past the deadline with fallback-to-original disabled
+                 debug("Dropped late translation to " + locale + " from " + player.getName());
+                 return null;
+             }
+             plugin.getPluginLogger().warning("Error translating message to " + locale + ": " + error.getMessage());
+             // Use original message in case of error
+             return formattedOriginal;
+         }
+         if (translated.equals(original)) {
+             return formattedOriginal;
+         }
+         try {
+             return formatChatMessage(player, translated, chatConfig, chatName);
+         } catch (RuntimeException e) {
+             plugin.getPluginLogger().warning("Error formatting translated message: " + e.getMessage());
+             return formattedOriginal;
+         }
      }
      
      /**
@@ -535,11 +498,10 @@
      private void sendMessageToPlayers(Player sender, Component formattedMessage, ChatConfig chatConfig) {
          if (chatConfig.getRadius() > 0) {
              boolean heard = false;
-             for (Player target : sender.getWorld().getPlayers()) {
+             for (Player target : plugin.getPlayerSpatialIndex().getNearbyPlayers(sender, chatConfig.getRadius())) {
                  if (target.equals(sender)) continue;
  
-                 if (target.getLocation().distance(sender.getLocation()) <= chatConfig.getRadius() &&
-                         (chatConfig.getPermissionView().isEmpty() || target.hasPermission(chatConfig.getPermissionView()))) {
+                 if (canView(target, chatConfig)) {
                      target.sendMessage(formattedMessage);
                      heard = true;
                  }
@@ -549,10 +511,51 @@
              }
              sender.sendMessage(formattedMessage);
          } else {
-             Bukkit.getOnlinePlayers().stream()
-                     .filter(p -> chatConfig.getPermissionView().isEmpty() || p.hasPermission(chatConfig.getPermissionView()))
-                     .forEach(p -> p.sendMessage(formattedMessage));
+             for (Player target : getViewers(chatConfig)) {
+                 target.sendMessage(formattedMessage);
+             }
+         }
+     }
+     
+     /**
+      * Stops and forgets all cooldown buckets
+      */
+     private void closeRateLimiters() {
+         for (RateLimiter rateLimiter : rateLimiters) {
+             rateLimiter.close();
+         }
+         rateLimiters.clear();
+     }
+     
+     /**
+      * Checks if a player can view a chat, using the permission snapshot
+      * 
+      * @param target the player
+      * @param chatConfig chat configuration
+      * @return true if the player can view messages in the chat
+      */
+     private boolean canView(Player target, ChatConfig chatConfig) {
+         return chatConfig.getPermissionView().isEmpty()
+                 || plugin.getPermissionCache().has(target, chatConfig.getPermissionView());
+     }
+     
+     /**
+      * Gets all online players allowed to view a chat
+      * 
+      * @param chatConfig chat configuration
+      * @return players with the view permission of the chat
+      */
+     private Collection<? extends Player> getViewers(ChatConfig chatConfig) {
+         if (chatConfig.getPermissionView().isEmpty()) {
+             return Bukkit.getOnlinePlayers();
+         }
+         Collection<Player> holders = plugin.getPermissionCache().getHolders(chatConfig.getPermissionView());
+         if (holders != null) {
+             return holders;
          }
+         return Bukkit.getOnlinePlayers().stream()
+                 .filter(p -> p.hasPermission(chatConfig.getPermissionView()))
+                 .toList();
      }
  
      /**
@@ -562,56 +565,32 @@
       * @param message the message content
       * @param config the chat configuration
       * @param chatName the name of the chat
-      * @return formatted message string
+      * @return formatted message component
       */
      private Component formatChatMessage(Player player, String message, ChatConfig config, String chatName) {
-         // 1) Raw format from config with immutable placeholders
-         String raw = config.getFormat()
-             .replace("{player}", player.getName())
-             .replace("{chat}", chatName)
-             .replace("{world}", player.getWorld().getName());
+         // 1) Check player permissions for colors and placeholders in CHAT MESSAGES ONLY
+         boolean canColors       = plugin.getPermissionCache().has(player, PERMISSION_COLORS);
+         boolean canPlaceholders = plugin.getPermissionCache().has(player, PERMISSION_PLACEHOLDERS);
      
-         // 2) Marker instead of {message}
-         final String MSG_MARKER = "&&MSG&&";
-         String withMarker = raw.replace("{message}", MSG_MARKER);
-     
-         // 3) Full formatting of prefix and suffix:
-         //    - allowColors = true -> all color tags from config,
-         //    - useMiniMessage = miniMessage,
-         //    - allowPlaceholders = true -> all %...% are expanded
-         String allConfigFormatted = FormatUtil.formatLegacy(
-             player,
-             withMarker,
-             /* allowColors= */ true,
-             /* useMiniMessage= */ miniMessage,
-             /* allowPlaceholders= */ true
-         );
-     
-         // 4) Split by marker to remove it from final string
-         String[] parts = allConfigFormatted.split(Pattern.quote(MSG_MARKER), -1);
-         String prefix = parts.length > 0 ? parts[0] : "";
-         String suffix = parts.length > 1 ? parts[1] : "";
-     
-         // 5) Check player permissions for colors and placeholders in CHAT MESSAGES ONLY
-         boolean canColors       = player.hasPermission("originchat.format.colors");
-         boolean canPlaceholders = player.hasPermission("originchat.format.placeholders");
-     
-         // 6) Format player's message text:
+         // 2) Format player's message text:
          //    - if has permission for colors -> allow HEX and MiniMessage,
-         //      and expand %...% only if allowPlaceholders is true
-         //    - if no permission for colors -> disable any colors/MiniMessage,
-         //      but still can expand %...% if allowPlaceholders is true
-         String msgFormatted = FormatUtil.formatLegacy(
+         //      otherwise the text is stripped and stays plain
+         //    - %...% and animations are expanded only with the placeholders permission
+         Component body = FormatUtil.format(
              player,
              message,
-             /* allowColors=       */ canColors,
-             /* useMiniMessage=    */ canColors,
-             /* allowPlaceholders= */ canPlaceholders
+             /* enableColors=       */ canColors,
+             /* enablePlaceholders= */ canPlaceholders,
+             /* enableAnimations=   */ canPlaceholders
          );
      
-         // 7) Glue everything together and return
-         // Для префикса и суффикса используем полное форматирование, но для плейсхолдеров учитываем права игрока
-         return FormatUtil.format(player, prefix + msgFormatted + suffix, true, canPlaceholders, true);
+         // 3) Fill the dynamic slots of the precompiled format,
+         //    static parts of the format were parsed once on config load
+         return config.getTemplate().render(player, Map.of(
+             "player", Component.text(player.getName()),
+             "world", Component.text(player.getWorld().getName()),
+             "message", body
+         ));
      }
      
      /**
@@ -632,29 +611,65 @@
       * Chat configuration class
       */
      private static class ChatConfig {
+         private final String name;
          private final String prefix;
          private final int radius;
          private final String format;
+         private final FormatTemplate template;
          private final String permissionWrite;
          private final String permissionView;
+         private RateLimitPolicy cooldownPolicy;
+         private RateLimiter rateLimiter;
  
          /**
-          * Creates a new chat configuration
+          * Creates a new chat configuration and compiles its format
           * 
+          * @param name chat name, substituted for {chat} on compile
           * @param prefix chat prefix
           * @param radius chat radius (-1 for global)
           * @param format message format
           * @param permissionWrite permission to write in chat
           * @param permissionView permission to view messages in chat
+          * @param cooldownPolicy cooldown policy of the chat
+          * @param rateLimiter cooldown buckets of the chat
+          * @param placeholders resolve PlaceholderAPI placeholders in the format (mini-message option)
           */
-         public ChatConfig(String prefix, int radius, String format, String permissionWrite, String permissionView) {
+         public ChatConfig(String name, String prefix, int radius, String format, String permissionWrite, String permissionView,
+                           RateLimitPolicy cooldownPolicy, RateLimiter rateLimiter, boolean placeholders) {
+             this.name = name;
              this.prefix = prefix;
              this.radius = radius;
              this.format = format;
+             this.template = FormatTemplate.compile(format.replace("{chat}", name), FORMAT_SLOTS, placeholders);
              this.permissionWrite = permissionWrite;
              this.permissionView = permissionView;
+             this.cooldownPolicy = cooldownPolicy;
+             this.rateLimiter = rateLimiter;
          }
  
+         /**
+          * Replaces the cooldown of the chat, used for chats with their own cooldown
+          * 
+          * @param cooldownPolicy cooldown policy of the chat
+          * @param rateLimiter cooldown buckets of the chat
+          */
+         public void setRateLimit(RateLimitPolicy cooldownPolicy, RateLimiter rateLimiter) {
+             this.cooldownPolicy = cooldownPolicy;
+             this.rateLimiter = rateLimiter;
+         }
+ 
+         public RateLimitPolicy getCooldownPolicy() {
+             return cooldownPolicy;
+         }
+ 
+         public RateLimiter getRateLimiter() {
+             return rateLimiter;
+         }
+ 
+         public String getName() {
+             return name;
+         }
+
          public String getPrefix() {
              return prefix;
          }
@@ -667,6 +682,10 @@
              return format;
          }
  
+         public FormatTemplate getTemplate() {
+             return template;
+         }
+
          public String getPermissionWrite() {
              return permissionWrite;
          }
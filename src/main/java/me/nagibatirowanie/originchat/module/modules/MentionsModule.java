@@ -2,6 +2,7 @@ package me.nagibatirowanie.originchat.module.modules;
 
 import me.nagibatirowanie.originchat.OriginChat;
 import me.nagibatirowanie.originchat.module.AbstractModule;
+import me.nagibatirowanie.originchat.ratelimit.RateLimiter;
 import me.nagibatirowanie.originchat.utils.FormatUtil;
 import net.kyori.adventure.text.Component;
 import net.md_5.bungee.api.ChatMessageType;
@@ -15,8 +16,6 @@ import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -27,7 +26,6 @@ public class MentionsModule extends AbstractModule implements Listener {
 
     private boolean enabled;
     private String mentionSymbol;
-    private int mentionCooldown;
 
     private boolean soundEnabled;
     private Sound mentionSound;
@@ -41,7 +39,9 @@ public class MentionsModule extends AbstractModule implements Listener {
     private String titleDisplayMode; // title | subtitle | actionbar | both
 
     private boolean chatNotificationEnabled;
-    private final Map<String, Long> lastMentionTime = new HashMap<>();
+    // Buckets of mentioned players, one notification per cooldown
+    private RateLimiter mentionLimiter;
+    private RateLimiter.Limit mentionLimit;
 
     public MentionsModule(OriginChat plugin) {
         super(plugin, "mentions", "Mentions Module", 
@@ -58,13 +58,17 @@ public class MentionsModule extends AbstractModule implements Listener {
         if (!enabled) return;
 
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        mentionLimiter = new RateLimiter(plugin);
         log("MentionsModule enabled. Symbol='" + mentionSymbol + "'");
     }
 
     @Override
     public void onDisable() {
         HandlerList.unregisterAll(this);
-        lastMentionTime.clear();
+        if (mentionLimiter != null) {
+            mentionLimiter.close();
+            mentionLimiter = null;
+        }
         log("MentionsModule disabled.");
     }
 
@@ -74,7 +78,7 @@ public class MentionsModule extends AbstractModule implements Listener {
     private void loadConfig() {
         enabled = config.getBoolean("enabled", true);
         mentionSymbol = config.getString("mention_symbol", "@");
-        mentionCooldown = config.getInt("cooldown", 30);
+        mentionLimit = RateLimiter.Limit.of(config.getInt("cooldown", 30), 1);
 
         soundEnabled = config.getBoolean("sound.enabled", true);
         String soundName = config.getString("sound.name", "ENTITY_EXPERIENCE_ORB_PICKUP");
@@ -129,25 +133,11 @@ public class MentionsModule extends AbstractModule implements Listener {
             Player mentioned = Bukkit.getPlayerExact(name);
             if (mentioned == null || !mentioned.isOnline() || mentioned.equals(sender)) continue;
 
-            if (isOnCooldown(mentioned.getName())) continue;
-            lastMentionTime.put(mentioned.getName(), System.currentTimeMillis());
+            if (mentionLimiter.tryAcquire(mentioned.getUniqueId(), mentionLimit) > 0) continue;
             Bukkit.getScheduler().runTask(plugin, () -> sendMentionNotification(sender, mentioned));
         }
     }
 
-    /**
-     * Checks if the player is still on mention cooldown.
-     *
-     * @param playerName the name of the mentioned player
-     * @return true if on cooldown, false otherwise
-     */
-    private boolean isOnCooldown(String playerName) {
-        if (mentionCooldown <= 0) return false;
-        long last = lastMentionTime.getOrDefault(playerName, 0L);
-        long elapsed = (System.currentTimeMillis() - last) / 1000;
-        return elapsed < mentionCooldown;
-    }
-
     /**
      * Sends mention notifications (sound, title, chat) to the mentioned player.
      *
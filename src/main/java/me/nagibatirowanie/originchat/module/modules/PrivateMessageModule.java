@@ -23,6 +23,8 @@
 
  import me.nagibatirowanie.originchat.OriginChat;
 import me.nagibatirowanie.originchat.module.AbstractModule;
+import me.nagibatirowanie.originchat.ratelimit.RateLimitPolicy;
+import me.nagibatirowanie.originchat.ratelimit.RateLimiter;
 import me.nagibatirowanie.originchat.utils.FormatUtil;
  import org.bukkit.Bukkit;
  import org.bukkit.command.Command;
@@ -44,6 +46,8 @@ import me.nagibatirowanie.originchat.utils.FormatUtil;
      private String receiverFormat;
      private boolean enabled;
      private boolean registered = false;
+     private RateLimitPolicy cooldownPolicy;
+     private RateLimiter rateLimiter;
  
      /**
       * Initializes the private message module.
@@ -68,6 +72,7 @@ import me.nagibatirowanie.originchat.utils.FormatUtil;
              registerCommands();
              registered = true;
          }
+         rateLimiter = new RateLimiter(plugin);
      }
  
      @Override
@@ -76,6 +81,10 @@ import me.nagibatirowanie.originchat.utils.FormatUtil;
              unregisterCommands();
              registered = false;
          }
+         if (rateLimiter != null) {
+             rateLimiter.close();
+             rateLimiter = null;
+         }
      }
  
      /**
@@ -105,6 +114,7 @@ import me.nagibatirowanie.originchat.utils.FormatUtil;
          enabled = config.getBoolean("enabled", true);
          senderFormat = config.getString("format.sender", "&7You &8-> &7{receiver}: &f{message}");
          receiverFormat = config.getString("format.receiver", "&7{sender} &8-> &7You: &f{message}");
+         cooldownPolicy = RateLimitPolicy.load(plugin, config.getConfigurationSection("cooldown"), false, 1, 3);
      }
  
      @Override
@@ -180,6 +190,14 @@ import me.nagibatirowanie.originchat.utils.FormatUtil;
       * @param message  the message content
       */
      private void sendPrivateMessage(Player sender, Player receiver, String message) {
+         long wait = rateLimiter.tryAcquire(sender.getUniqueId(), cooldownPolicy.resolve(sender));
+         if (wait > 0) {
+             String msg = plugin.getConfigManager().getLocalizedMessage("private_messages", "messages.cooldown", sender)
+                     .replace("{cooldown}", String.valueOf((wait + 999) / 1000));
+             sender.sendMessage(FormatUtil.format(sender, msg));
+             return;
+         }
+ 
          String senderLocalizedFormat = plugin.getConfigManager().getLocalizedMessage("private_messages", "format.sender", sender);
          if (senderLocalizedFormat.isEmpty() || senderLocalizedFormat.startsWith("§cMessage not found")) {
              senderLocalizedFormat = senderFormat;
@@ -23,6 +23,8 @@
 
  import me.nagibatirowanie.originchat.OriginChat;
 import me.nagibatirowanie.originchat.module.AbstractModule;
+import me.nagibatirowanie.originchat.ratelimit.RateLimitPolicy;
+import me.nagibatirowanie.originchat.ratelimit.RateLimiter;
 import me.nagibatirowanie.originchat.utils.FormatUtil;
  import org.bukkit.Bukkit;
  import org.bukkit.command.Command;
@@ -49,6 +51,8 @@ import me.nagibatirowanie.originchat.utils.FormatUtil;
      private final Map<String, Integer> commandRanges = new HashMap<>();
      private final Map<String, String> commandFormats = new HashMap<>();
      private List<String> magicBallAnswers = new ArrayList<>();
+     private RateLimitPolicy cooldownPolicy;
+     private RateLimiter rateLimiter;
  
      /**
       * Creates a new RoleplayModule instance
@@ -67,6 +71,7 @@ import me.nagibatirowanie.originchat.utils.FormatUtil;
              registered = true;
          }
          loadConfig();
+         rateLimiter = new RateLimiter(plugin);
          plugin.getPluginLogger().info("Roleplay module loaded!");
      }
  
@@ -76,6 +81,10 @@ import me.nagibatirowanie.originchat.utils.FormatUtil;
              unregisterCommands();
              registered = false;
          }
+         if (rateLimiter != null) {
+             rateLimiter.close();
+             rateLimiter = null;
+         }
          plugin.getPluginLogger().info("Roleplay module disabled.");
      }
  
@@ -99,6 +108,7 @@ import me.nagibatirowanie.originchat.utils.FormatUtil;
                      commandFormats.put(command, formats.getString(command, ""));
                  }
              }
+             cooldownPolicy = RateLimitPolicy.load(plugin, config.getConfigurationSection("cooldown"), false, 1, 3);
              magicBallAnswers = config.getStringList("magic_ball_answers");
              if (magicBallAnswers.isEmpty()) {
                  magicBallAnswers = Arrays.asList(
@@ -166,6 +176,13 @@ import me.nagibatirowanie.originchat.utils.FormatUtil;
              player.sendMessage(FormatUtil.format(player, localizedMessage));
              return true;
          }
+         long wait = rateLimiter.tryAcquire(player.getUniqueId(), cooldownPolicy.resolve(player));
+         if (wait > 0) {
+             String localizedMessage = plugin.getConfigManager().getLocalizedMessage("roleplay", "errors.cooldown", player)
+                     .replace("{cooldown}", String.valueOf((wait + 999) / 1000));
+             player.sendMessage(FormatUtil.format(player, localizedMessage));
+             return true;
+         }
          String message = String.join(" ", args);
          switch (commandName) {
              case "me":
@@ -263,15 +280,13 @@ import me.nagibatirowanie.originchat.utils.FormatUtil;
                      target.sendMessage(FormatUtil.format(target, targetFormatted));
                  }
              } else {
-                 for (Player target : player.getWorld().getPlayers()) {
-                     if (target.getLocation().distance(player.getLocation()) <= range) {
-                         String targetFormat = plugin.getConfigManager().getLocalizedMessage("roleplay", "format." + commandKey, target);
-                         String targetFormatted = targetFormat.replace("{player}", player.getName())
-                                 .replace("{min}", String.valueOf(min))
-                                 .replace("{max}", String.valueOf(max))
-                                 .replace("{result}", String.valueOf(result));
-                         target.sendMessage(FormatUtil.format(target, targetFormatted));
-                     }
+                 for (Player target : plugin.getPlayerSpatialIndex().getNearbyPlayers(player, range)) {
+                     String targetFormat = plugin.getConfigManager().getLocalizedMessage("roleplay", "format." + commandKey, target);
+                     String targetFormatted = targetFormat.replace("{player}", player.getName())
+                             .replace("{min}", String.valueOf(min))
+                             .replace("{max}", String.valueOf(max))
+                             .replace("{result}", String.valueOf(result));
+                     target.sendMessage(FormatUtil.format(target, targetFormatted));
                  }
              }
          } catch (NumberFormatException e) {
@@ -315,28 +330,26 @@ import me.nagibatirowanie.originchat.utils.FormatUtil;
                  target.sendMessage(FormatUtil.format(target, formatted));
              }
          } else {
-             for (Player target : player.getWorld().getPlayers()) {
-                 if (target.getLocation().distance(player.getLocation()) <= range) {
-                     // Get results list for each target player individually
-                     List<String> targetResultsList = plugin.getConfigManager().getLocalizedMessageList("roleplay", "results", target);
-                     
-                     // Select answer in target player's language
-                     String answer;
-                     if (targetResultsList.size() > 2) {
-                         // Select random answer from results list, starting from index 2
-                         int randomIndex = random.nextInt(targetResultsList.size() - 2) + 2;
-                         answer = targetResultsList.get(randomIndex);
-                     } else {
-                         // Use fallback answers list
-                         answer = magicBallAnswers.get(random.nextInt(magicBallAnswers.size()));
-                     }
-                     
-                     String localizedFormat = plugin.getConfigManager().getLocalizedMessage("roleplay", "format." + commandKey, target);
-                     String formatted = localizedFormat.replace("{player}", player.getName())
-                             .replace("{message}", message)
-                             .replace("{result}", answer);
-                     target.sendMessage(FormatUtil.format(target, formatted));
+             for (Player target : plugin.getPlayerSpatialIndex().getNearbyPlayers(player, range)) {
+                 // Get results list for each target player individually
+                 List<String> targetResultsList = plugin.getConfigManager().getLocalizedMessageList("roleplay", "results", target);
+                 
+                 // Select answer in target player's language
+                 String answer;
+                 if (targetResultsList.size() > 2) {
+                     // Select random answer from results list, starting from index 2
+                     int randomIndex = random.nextInt(targetResultsList.size() - 2) + 2;
+                     answer = targetResultsList.get(randomIndex);
+                 } else {
+                     // Use fallback answers list
+                     answer = magicBallAnswers.get(random.nextInt(magicBallAnswers.size()));
                  }
+                 
+                 String localizedFormat = plugin.getConfigManager().getLocalizedMessage("roleplay", "format." + commandKey, target);
+                 String formatted = localizedFormat.replace("{player}", player.getName())
+                         .replace("{message}", message)
+                         .replace("{result}", answer);
+                 target.sendMessage(FormatUtil.format(target, formatted));
              }
          }
      }
@@ -375,12 +388,10 @@ import me.nagibatirowanie.originchat.utils.FormatUtil;
                  target.sendMessage(FormatUtil.format(target, formatted));
              }
          } else {
-             for (Player target : player.getWorld().getPlayers()) {
-                 if (target.getLocation().distance(player.getLocation()) <= range) {
-                     String localizedFormat = plugin.getConfigManager().getLocalizedMessage("roleplay", formatKey, target);
-                     String formatted = localizedFormat.replace("{player}", player.getName()).replace("{message}", message);
-                     target.sendMessage(FormatUtil.format(target, formatted));
-                 }
+             for (Player target : plugin.getPlayerSpatialIndex().getNearbyPlayers(player, range)) {
+                 String localizedFormat = plugin.getConfigManager().getLocalizedMessage("roleplay", formatKey, target);
+                 String formatted = localizedFormat.replace("{player}", player.getName()).replace("{message}", message);
+                 target.sendMessage(FormatUtil.format(target, formatted));
              }
          }
      }
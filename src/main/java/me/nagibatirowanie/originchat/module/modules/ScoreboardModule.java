@@ -124,16 +124,30 @@ public class ScoreboardModule extends AbstractModule implements Listener {
     private void updateBoard(FastBoard board) {
         Player player = board.getPlayer();
 
-        String title = FormatUtil.formatLegacy(player, applyPlaceholders(player, getLocalizedTitle(player)));
+        String title = formatLine(player, getLocalizedTitle(player));
         board.updateTitle(title);
 
         List<String> rawLines = getLocalizedLines(player);
         String[] formattedLines = rawLines.stream()
-            .map(line -> FormatUtil.formatLegacy(player, applyPlaceholders(player, line)))
+            .map(line -> formatLine(player, line))
             .toArray(String[]::new);
         board.updateLines(formattedLines);
     }
 
+    /**
+     * Formats a scoreboard line, lines without placeholders are the same for everyone and parsed once.
+     *
+     * @param player the player the line is shown to
+     * @param line   the configured line
+     * @return formatted legacy string
+     */
+    private String formatLine(Player player, String line) {
+        if (FormatUtil.isConstant(line)) {
+            return FormatUtil.formatLegacyCached(line);
+        }
+        return FormatUtil.formatLegacy(player, applyPlaceholders(player, line));
+    }
+
     /**
      * Retrieves and validates the title from configuration or returns a default.
      *
@@ -24,6 +24,7 @@ package me.nagibatirowanie.originchat.module.modules;
 import me.nagibatirowanie.originchat.OriginChat;
 import me.nagibatirowanie.originchat.module.AbstractModule;
 import me.nagibatirowanie.originchat.utils.FormatUtil;
+import net.kyori.adventure.text.Component;
 import net.luckperms.api.LuckPerms;
 import net.luckperms.api.model.group.Group;
 import net.luckperms.api.model.user.User;
@@ -299,13 +300,21 @@ public class TabModule extends AbstractModule {
         String header = String.join("\n", localizedHeaderLines);
         String footer = String.join("\n", localizedFooterLines);
         
-        header = applyPlaceholders(player, header);
-        footer = applyPlaceholders(player, footer);
-        
-        player.sendPlayerListHeaderAndFooter(
-            FormatUtil.format(player, header, true, true, true),
-            FormatUtil.format(player, footer, true, true, true)
-        );
+        player.sendPlayerListHeaderAndFooter(formatTabText(player, header), formatTabText(player, footer));
+    }
+
+    /**
+     * Formats tab text, text without placeholders is the same for everyone and parsed once
+     * 
+     * @param player The player the text is shown to
+     * @param text Configured text
+     * @return Formatted component
+     */
+    private Component formatTabText(Player player, String text) {
+        if (FormatUtil.isConstant(text)) {
+            return FormatUtil.formatCached(text);
+        }
+        return FormatUtil.format(player, applyPlaceholders(player, text), true, true, true);
     }
 
     /**
@@ -0,0 +1,266 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.permission;
+
+import me.nagibatirowanie.originchat.OriginChat;
+import net.luckperms.api.LuckPerms;
+import net.luckperms.api.LuckPermsProvider;
+import net.luckperms.api.event.user.UserDataRecalculateEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.permissions.PermissionAttachmentInfo;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Snapshot of online players holding tracked permissions.
+ * Snapshots are rebuilt on the main thread on join, on LuckPerms data recalculation
+ * and periodically, so async chat threads never call hasPermission for tracked nodes.
+ */
+public class PermissionCache implements Listener {
+
+    // Safety net for permission plugins without change events
+    private static final long REFRESH_PERIOD = 600L;
+
+    private final OriginChat plugin;
+    private final Map<String, Map<UUID, Player>> holders = new ConcurrentHashMap<>();
+    // Prefix of numbered permissions -> player -> lowest number the player holds
+    private final Map<String, Map<UUID, Integer>> lowestNumbers = new ConcurrentHashMap<>();
+    private final Set<UUID> snapshotted = ConcurrentHashMap.newKeySet();
+
+    public PermissionCache(OriginChat plugin) {
+        this.plugin = plugin;
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        Bukkit.getScheduler().runTaskTimer(plugin, this::refreshAll, REFRESH_PERIOD, REFRESH_PERIOD);
+
+        if (Bukkit.getPluginManager().getPlugin("LuckPerms") != null) {
+            try {
+                new LuckPermsHook(this).register();
+                plugin.getPluginLogger().debug("[PermissionCache] Subscribed to LuckPerms data recalculation");
+            } catch (Throwable e) {
+                plugin.getPluginLogger().warning("[PermissionCache] Failed to subscribe to LuckPerms events: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Starts tracking a permission and takes a snapshot for online players.
+     * Must be called from the main thread.
+     *
+     * @param permission Permission node, empty nodes are ignored
+     */
+    public void track(String permission) {
+        if (permission == null || permission.isEmpty() || holders.containsKey(permission)) {
+            return;
+        }
+        Map<UUID, Player> permissionHolders = new ConcurrentHashMap<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (player.hasPermission(permission)) {
+                permissionHolders.put(player.getUniqueId(), player);
+            }
+        }
+        holders.put(permission, permissionHolders);
+    }
+
+    /**
+     * Starts tracking permissions made of a prefix and a number, like originchat.chat.cooldown.5.
+     * Only the lowest number is kept, read from the player's effective permissions in one pass
+     * instead of checking every possible number. Must be called from the main thread.
+     *
+     * @param prefix Permission prefix including the trailing dot
+     */
+    public void trackNumbered(String prefix) {
+        if (lowestNumbers.containsKey(prefix)) {
+            return;
+        }
+        Map<UUID, Integer> lowest = new ConcurrentHashMap<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            int number = findLowestNumber(player, prefix);
+            if (number >= 0) {
+                lowest.put(player.getUniqueId(), number);
+            }
+        }
+        lowestNumbers.put(prefix, lowest);
+    }
+
+    /**
+     * Gets the lowest number of a numbered permission the player holds,
+     * served from the snapshot when the prefix is tracked
+     *
+     * @param player Player to check
+     * @param prefix Permission prefix including the trailing dot
+     * @return Lowest number, or -1 if the player holds none
+     */
+    public int getLowestNumber(Player player, String prefix) {
+        Map<UUID, Integer> lowest = lowestNumbers.get(prefix);
+        if (lowest == null || !snapshotted.contains(player.getUniqueId())) {
+            return findLowestNumber(player, prefix);
+        }
+        return lowest.getOrDefault(player.getUniqueId(), -1);
+    }
+
+    private static int findLowestNumber(Player player, String prefix) {
+        int lowest = -1;
+        for (PermissionAttachmentInfo info : player.getEffectivePermissions()) {
+            String permission = info.getPermission();
+            if (!info.getValue() || !permission.startsWith(prefix)) {
+                continue;
+            }
+            int number = parseNumber(permission, prefix.length());
+            if (number >= 0 && (lowest < 0 || number < lowest)) {
+                lowest = number;
+            }
+        }
+        return lowest;
+    }
+
+    private static int parseNumber(String text, int start) {
+        int length = text.length() - start;
+        if (length < 1 || length > 9) {
+            return -1;
+        }
+        int number = 0;
+        for (int i = start; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return -1;
+            }
+            number = number * 10 + (ch - '0');
+        }
+        return number;
+    }
+
+    /**
+     * Checks a permission, served from the snapshot when the node is tracked
+     *
+     * @param player Player to check
+     * @param permission Permission node
+     * @return true if the player has the permission
+     */
+    public boolean has(Player player, String permission) {
+        Map<UUID, Player> permissionHolders = holders.get(permission);
+        if (permissionHolders == null || !snapshotted.contains(player.getUniqueId())) {
+            return player.hasPermission(permission);
+        }
+        return permissionHolders.containsKey(player.getUniqueId());
+    }
+
+    /**
+     * Gets the online players holding a tracked permission
+     *
+     * @param permission Permission node
+     * @return Live view of the holders, or null if the node is not tracked
+     */
+    public Collection<Player> getHolders(String permission) {
+        Map<UUID, Player> permissionHolders = holders.get(permission);
+        return permissionHolders == null ? null : Collections.unmodifiableCollection(permissionHolders.values());
+    }
+
+    /**
+     * Rebuilds the snapshot of a single player for all tracked permissions
+     *
+     * @param player Player to refresh
+     */
+    public void refresh(Player player) {
+        UUID uuid = player.getUniqueId();
+        for (Map.Entry<String, Map<UUID, Player>> entry : holders.entrySet()) {
+            if (player.hasPermission(entry.getKey())) {
+                entry.getValue().put(uuid, player);
+            } else {
+                entry.getValue().remove(uuid);
+            }
+        }
+        for (Map.Entry<String, Map<UUID, Integer>> entry : lowestNumbers.entrySet()) {
+            int number = findLowestNumber(player, entry.getKey());
+            if (number >= 0) {
+                entry.getValue().put(uuid, number);
+            } else {
+                entry.getValue().remove(uuid);
+            }
+        }
+        snapshotted.add(uuid);
+    }
+
+    private void refreshAll() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            refresh(player);
+        }
+    }
+
+    private void remove(UUID uuid) {
+        snapshotted.remove(uuid);
+        for (Map<UUID, Player> permissionHolders : holders.values()) {
+            permissionHolders.remove(uuid);
+        }
+        for (Map<UUID, Integer> lowest : lowestNumbers.values()) {
+            lowest.remove(uuid);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        refresh(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * LuckPerms integration, loaded only when LuckPerms is installed
+     */
+    private static class LuckPermsHook {
+        private final PermissionCache cache;
+
+        private LuckPermsHook(PermissionCache cache) {
+            this.cache = cache;
+        }
+
+        private void register() {
+            LuckPerms luckPerms = LuckPermsProvider.get();
+            luckPerms.getEventBus().subscribe(cache.plugin, UserDataRecalculateEvent.class, event -> {
+                UUID uuid = event.getUser().getUniqueId();
+                if (!cache.plugin.isEnabled()) {
+                    return;
+                }
+                // LuckPerms fires this async, snapshots are rebuilt on the main thread
+                Bukkit.getScheduler().runTask(cache.plugin, () -> {
+                    Player player = Bukkit.getPlayer(uuid);
+                    if (player != null) {
+                        cache.refresh(player);
+                    }
+                });
+            });
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.ratelimit;
+
+import me.nagibatirowanie.originchat.OriginChat;
+import me.nagibatirowanie.originchat.ratelimit.RateLimiter.Limit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Picks the rate limit of a player: a base limit and permission tiers,
+ * the most permissive tier the player holds wins.
+ *
+ * Config layout:
+ * <pre>
+ * cooldown:
+ *   enabled: true
+ *   default: 3      # seconds to restore one message
+ *   burst: 1        # messages allowed in a row
+ *   tiers:
+ *     vip:
+ *       permission: originchat.chat.cooldown.vip
+ *       cooldown: 1
+ *       burst: 3
+ * </pre>
+ */
+public class RateLimitPolicy {
+
+    private static final String BYPASS_PERMISSION = "originchat.admin";
+
+    private final OriginChat plugin;
+    private final boolean enabled;
+    private final Limit base;
+    private final List<String> tierPermissions;
+    private final List<Limit> tierLimits;
+    // Tiers from permissions ending in seconds, like originchat.chat.cooldown.5
+    private String secondsPrefix;
+    private int maxSeconds;
+    private int secondsBurst;
+
+    private RateLimitPolicy(OriginChat plugin, boolean enabled, Limit base, List<String> tierPermissions, List<Limit> tierLimits) {
+        this.plugin = plugin;
+        this.enabled = enabled;
+        this.base = base;
+        this.tierPermissions = tierPermissions;
+        this.tierLimits = tierLimits;
+        plugin.getPermissionCache().track(BYPASS_PERMISSION);
+    }
+
+    /**
+     * Loads a policy from a cooldown section
+     *
+     * @param plugin Plugin instance
+     * @param section Cooldown section, may be null
+     * @param enabledByDefault Whether the limit applies when the section has no enabled flag
+     * @param defaultSeconds Default refill interval in seconds
+     * @param defaultBurst Default burst size
+     * @return Loaded policy
+     */
+    public static RateLimitPolicy load(OriginChat plugin, ConfigurationSection section, boolean enabledByDefault,
+                                       double defaultSeconds, int defaultBurst) {
+        if (section == null) {
+            return new RateLimitPolicy(plugin, enabledByDefault, Limit.of(defaultSeconds, defaultBurst), new ArrayList<>(), new ArrayList<>());
+        }
+
+        RateLimitPolicy policy = new RateLimitPolicy(plugin,
+                section.getBoolean("enabled", enabledByDefault),
+                Limit.of(section.getDouble("default", defaultSeconds), section.getInt("burst", defaultBurst)),
+                new ArrayList<>(), new ArrayList<>());
+
+        ConfigurationSection tiers = section.getConfigurationSection("tiers");
+        if (tiers != null) {
+            for (String tierName : tiers.getKeys(false)) {
+                ConfigurationSection tier = tiers.getConfigurationSection(tierName);
+                if (tier == null || tier.getString("permission", "").isEmpty()) {
+                    plugin.getPluginLogger().warning("[RateLimitPolicy] Cooldown tier '" + tierName + "' has no permission and is ignored");
+                    continue;
+                }
+                policy.addTier(tier.getString("permission"),
+                        Limit.of(tier.getDouble("cooldown", policy.base.getSeconds()), tier.getInt("burst", policy.base.getBurst())));
+            }
+        }
+        return policy;
+    }
+
+    /**
+     * Adds a permission tier. Only meant to be called while the policy is being built.
+     *
+     * @param permission Permission granting the tier
+     * @param limit Limit of the tier
+     */
+    public void addTier(String permission, Limit limit) {
+        plugin.getPermissionCache().track(permission);
+        tierPermissions.add(permission);
+        tierLimits.add(limit);
+    }
+
+    /**
+     * Adds tiers granted by permissions made of a prefix and a number of seconds, the lowest
+     * number the player holds applies. Only meant to be called while the policy is being built.
+     *
+     * @param prefix Permission prefix including the trailing dot
+     * @param maxSeconds Highest number that is honored
+     * @param burst Burst size of these tiers
+     */
+    public void addSecondsTiers(String prefix, int maxSeconds, int burst) {
+        plugin.getPermissionCache().trackNumbered(prefix);
+        this.secondsPrefix = prefix;
+        this.maxSeconds = maxSeconds;
+        this.secondsBurst = burst;
+    }
+
+    /**
+     * Creates a policy with the same tiers and another base limit
+     *
+     * @param base New base limit
+     * @return Policy sharing the tiers of this one
+     */
+    public RateLimitPolicy withBase(Limit base) {
+        RateLimitPolicy policy = new RateLimitPolicy(plugin, enabled, base, tierPermissions, tierLimits);
+        policy.secondsPrefix = secondsPrefix;
+        policy.maxSeconds = maxSeconds;
+        policy.secondsBurst = secondsBurst;
+        return policy;
+    }
+
+    /**
+     * Resolves the limit of a player from the permission snapshot
+     *
+     * @param player Player
+     * @return Limit of the player, unlimited if the policy is disabled
+     */
+    public Limit resolve(Player player) {
+        if (!enabled || plugin.getPermissionCache().has(player, BYPASS_PERMISSION)) {
+            return Limit.UNLIMITED;
+        }
+        Limit result = base;
+        for (int i = 0; i < tierPermissions.size(); i++) {
+            Limit tierLimit = tierLimits.get(i);
+            if (tierLimit.isLooserThan(result) && plugin.getPermissionCache().has(player, tierPermissions.get(i))) {
+                result = tierLimit;
+            }
+        }
+        if (secondsPrefix != null) {
+            int seconds = plugin.getPermissionCache().getLowestNumber(player, secondsPrefix);
+            if (seconds >= 0 && seconds <= maxSeconds) {
+                Limit secondsLimit = Limit.of(seconds, secondsBurst);
+                if (secondsLimit.isLooserThan(result)) {
+                    result = secondsLimit;
+                }
+            }
+        }
+        return result;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Limit getBase() {
+        return base;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.ratelimit;
+
+import me.nagibatirowanie.originchat.OriginChat;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free per-player token bucket.
+ * Implemented as GCRA: the whole bucket is a single theoretical arrival time
+ * updated with CAS, so there is nothing to refill and nothing to sweep.
+ * Entries are dropped when the player leaves.
+ */
+public class RateLimiter implements Listener {
+
+    private final Map<UUID, AtomicLong> arrivals = new ConcurrentHashMap<>();
+
+    public RateLimiter(OriginChat plugin) {
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Takes one token from the player's bucket
+     *
+     * @param uuid Player UUID
+     * @param limit Limit to apply, unlimited limits always pass
+     * @return 0 if the action is allowed, otherwise milliseconds until a token is available
+     */
+    public long tryAcquire(UUID uuid, Limit limit) {
+        if (limit == null || limit.isUnlimited()) {
+            return 0;
+        }
+        long interval = limit.intervalNanos;
+        long tolerance = interval * (limit.burst - 1);
+        AtomicLong arrival = arrivals.computeIfAbsent(uuid, key -> new AtomicLong(System.nanoTime()));
+        while (true) {
+            long now = System.nanoTime();
+            long current = arrival.get();
+            long start = current - now > 0 ? current : now;
+            long wait = start - tolerance - now;
+            if (wait > 0) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(wait));
+            }
+            if (arrival.compareAndSet(current, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Forgets the bucket of a player
+     *
+     * @param uuid Player UUID
+     */
+    public void reset(UUID uuid) {
+        arrivals.remove(uuid);
+    }
+
+    /**
+     * Forgets all buckets and stops listening for quits
+     */
+    public void close() {
+        HandlerList.unregisterAll(this);
+        arrivals.clear();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        arrivals.remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Refill interval and burst size of a bucket
+     */
+    public static final class Limit {
+        public static final Limit UNLIMITED = new Limit(0, 1);
+
+        private final long intervalNanos;
+        private final int burst;
+
+        private Limit(long intervalNanos, int burst) {
+            this.intervalNanos = intervalNanos;
+            this.burst = Math.max(1, burst);
+        }
+
+        /**
+         * Creates a limit
+         *
+         * @param seconds Seconds needed to restore one token, 0 or less disables the limit
+         * @param burst Tokens that can be spent in a row
+         * @return Limit
+         */
+        public static Limit of(double seconds, int burst) {
+            if (seconds <= 0) {
+                return UNLIMITED;
+            }
+            return new Limit((long) (seconds * TimeUnit.SECONDS.toNanos(1)), burst);
+        }
+
+        public boolean isUnlimited() {
+            return intervalNanos <= 0;
+        }
+
+        public double getSeconds() {
+            return intervalNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        /**
+         * Checks if this limit lets players send more than another one
+         *
+         * @param other Limit to compare with
+         * @return true if this limit is more permissive
+         */
+        public boolean isLooserThan(Limit other) {
+            if (isUnlimited() || other.isUnlimited()) {
+                return isUnlimited() && !other.isUnlimited();
+            }
+            if (intervalNanos != other.intervalNanos) {
+                return intervalNanos < other.intervalNanos;
+            }
+            return burst > other.burst;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.spatial;
+
+import me.nagibatirowanie.originchat.OriginChat;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cell-hash index of online player positions for radius queries.
+ * Positions are kept up to date from movement events on the main thread,
+ * queries are safe from any thread and only visit cells around the center.
+ */
+public class PlayerSpatialIndex implements Listener {
+
+    // 16x16 block columns, the same grid as chunks
+    private static final int CELL_SHIFT = 4;
+    // Full resync catches movement without move events (vehicles, plugins)
+    private static final long RESYNC_PERIOD = 20L;
+
+    private final Map<UUID, Map<Long, Set<UUID>>> cellsByWorld = new ConcurrentHashMap<>();
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    public PlayerSpatialIndex(OriginChat plugin) {
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            update(player, player.getLocation());
+        }
+        Bukkit.getScheduler().runTaskTimer(plugin, this::resync, RESYNC_PERIOD, RESYNC_PERIOD);
+    }
+
+    /**
+     * Gets the players within the radius of another player, including the player itself
+     *
+     * @param center Player in the center of the query
+     * @param radius Radius in blocks
+     * @return Players in the same world within the radius
+     */
+    public List<Player> getNearbyPlayers(Player center, double radius) {
+        Entry entry = entries.get(center.getUniqueId());
+        if (entry == null) {
+            Location location = center.getLocation();
+            return getNearbyPlayers(location.getWorld().getUID(), location.getX(), location.getY(), location.getZ(), radius);
+        }
+        return getNearbyPlayers(entry.world, entry.x, entry.y, entry.z, radius);
+    }
+
+    /**
+     * Gets the players within the radius of a location
+     *
+     * @param center Center of the query
+     * @param radius Radius in blocks
+     * @return Players in the same world within the radius
+     */
+    public List<Player> getNearbyPlayers(Location center, double radius) {
+        return getNearbyPlayers(center.getWorld().getUID(), center.getX(), center.getY(), center.getZ(), radius);
+    }
+
+    private List<Player> getNearbyPlayers(UUID world, double x, double y, double z, double radius) {
+        List<Player> result = new ArrayList<>();
+        Map<Long, Set<UUID>> cells = cellsByWorld.get(world);
+        if (cells == null || radius < 0) {
+            return result;
+        }
+
+        double radiusSquared = radius * radius;
+        int minCellX = (int) Math.floor(x - radius) >> CELL_SHIFT;
+        int maxCellX = (int) Math.floor(x + radius) >> CELL_SHIFT;
+        int minCellZ = (int) Math.floor(z - radius) >> CELL_SHIFT;
+        int maxCellZ = (int) Math.floor(z + radius) >> CELL_SHIFT;
+        long cellCount = (long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1);
+
+        if (cellCount > cells.size()) {
+            // Huge radius, walking the occupied cells is cheaper than the grid
+            for (Set<UUID> cell : cells.values()) {
+                collect(cell, world, x, y, z, radiusSquared, result);
+            }
+            return result;
+        }
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                Set<UUID> cell = cells.get(cellKey(cellX, cellZ));
+                if (cell != null) {
+                    collect(cell, world, x, y, z, radiusSquared, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void collect(Set<UUID> cell, UUID world, double x, double y, double z, double radiusSquared, List<Player> result) {
+        for (UUID uuid : cell) {
+            Entry entry = entries.get(uuid);
+            if (entry == null || !entry.world.equals(world)) {
+                continue;
+            }
+            double dx = entry.x - x;
+            double dy = entry.y - y;
+            double dz = entry.z - z;
+            if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                result.add(entry.player);
+            }
+        }
+    }
+
+    private void update(Player player, Location location) {
+        if (location == null || location.getWorld() == null) {
+            return;
+        }
+        UUID uuid = player.getUniqueId();
+        UUID world = location.getWorld().getUID();
+        long cell = cellKey(location.getBlockX() >> CELL_SHIFT, location.getBlockZ() >> CELL_SHIFT);
+
+        Entry previous = entries.put(uuid, new Entry(player, world, cell, location.getX(), location.getY(), location.getZ()));
+        if (previous != null && previous.world.equals(world) && previous.cell == cell) {
+            return;
+        }
+        if (previous != null) {
+            removeFromCell(uuid, previous);
+        }
+        cellsByWorld.computeIfAbsent(world, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet())
+                .add(uuid);
+    }
+
+    private void remove(UUID uuid) {
+        Entry previous = entries.remove(uuid);
+        if (previous != null) {
+            removeFromCell(uuid, previous);
+        }
+    }
+
+    private void removeFromCell(UUID uuid, Entry entry) {
+        Map<Long, Set<UUID>> cells = cellsByWorld.get(entry.world);
+        if (cells == null) {
+            return;
+        }
+        cells.computeIfPresent(entry.cell, (key, cell) -> {
+            cell.remove(uuid);
+            return cell.isEmpty() ? null : cell;
+        });
+    }
+
+    private void resync() {
+        Collection<? extends Player> online = Bukkit.getOnlinePlayers();
+        for (Player player : online) {
+            update(player, player.getLocation());
+        }
+        if (entries.size() > online.size()) {
+            for (UUID uuid : entries.keySet()) {
+                if (Bukkit.getPlayer(uuid) == null) {
+                    remove(uuid);
+                }
+            }
+        }
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        update(event.getPlayer(), event.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        remove(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        if (event.hasChangedBlock()) {
+            update(event.getPlayer(), event.getTo());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        update(event.getPlayer(), event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        update(event.getPlayer(), event.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        update(event.getPlayer(), event.getRespawnLocation());
+    }
+
+    /**
+     * Last known position of a player
+     */
+    private static class Entry {
+        private final Player player;
+        private final UUID world;
+        private final long cell;
+        private final double x;
+        private final double y;
+        private final double z;
+
+        private Entry(Player player, UUID world, long cell, double x, double y, double z) {
+            this.player = player;
+            this.world = world;
+            this.cell = cell;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.translate;
+
+import me.nagibatirowanie.originchat.OriginChat;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivers translated chat lines as soon as they are ready while keeping the order
+ * of one sender's messages for every recipient. A slot is reserved per message and
+ * recipient group when the message is sent; a recipient receives a line only after
+ * all earlier lines of the same sender have been delivered or dropped.
+ */
+public class DeliverySequencer implements Listener {
+
+    // Recipient -> sender -> reserved lines in send order
+    private final Map<UUID, Map<UUID, ArrayDeque<Slot>>> queues = new ConcurrentHashMap<>();
+
+    public DeliverySequencer(OriginChat plugin) {
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Reserves the next position of a message for a group of recipients.
+     * Must be called in the order the sender's messages are sent.
+     *
+     * @param sender Message sender
+     * @param recipients Players that receive the same component
+     * @return Slot to complete when the component is ready
+     */
+    public Slot reserve(Player sender, List<Player> recipients) {
+        Slot slot = new Slot(sender.getUniqueId(), recipients);
+        for (Player recipient : recipients) {
+            if (!recipient.isOnline()) {
+                continue;
+            }
+            Map<UUID, ArrayDeque<Slot>> senders = queues.computeIfAbsent(recipient.getUniqueId(), key -> new HashMap<>());
+            synchronized (senders) {
+                senders.computeIfAbsent(slot.sender, key -> new ArrayDeque<>()).addLast(slot);
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Completes a slot and delivers every line that is no longer waiting for an earlier one
+     *
+     * @param slot Reserved slot
+     * @param message Component to deliver, null drops the line
+     */
+    public void complete(Slot slot, Component message) {
+        slot.message = message;
+        slot.done = true;
+        for (Player recipient : slot.recipients) {
+            Map<UUID, ArrayDeque<Slot>> senders = queues.get(recipient.getUniqueId());
+            if (senders == null) {
+                continue;
+            }
+            synchronized (senders) {
+                ArrayDeque<Slot> queue = senders.get(slot.sender);
+                if (queue == null) {
+                    continue;
+                }
+                // Sending under the lock keeps lines of one sender in order for this recipient
+                while (!queue.isEmpty() && queue.peekFirst().done) {
+                    Slot ready = queue.pollFirst();
+                    if (ready.message != null && recipient.isOnline()) {
+                        recipient.sendMessage(ready.message);
+                    }
+                }
+                if (queue.isEmpty()) {
+                    senders.remove(slot.sender);
+                }
+            }
+        }
+    }
+
+    /**
+     * Delivers a component that needs no translation, after earlier lines of the sender
+     *
+     * @param sender Message sender
+     * @param recipients Players that receive the component
+     * @param message Component to deliver
+     */
+    public void deliver(Player sender, List<Player> recipients, Component message) {
+        complete(reserve(sender, recipients), message);
+    }
+
+    /**
+     * Unregisters the listener, reserved lines are still delivered as their translations finish
+     */
+    public void close() {
+        HandlerList.unregisterAll(this);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        queues.remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Position of one message for a group of recipients
+     */
+    public static final class Slot {
+        private final UUID sender;
+        private final List<Player> recipients;
+        private volatile Component message;
+        private volatile boolean done;
+
+        private Slot(UUID sender, List<Player> recipients) {
+            this.sender = sender;
+            this.recipients = recipients;
+        }
+    }
+}
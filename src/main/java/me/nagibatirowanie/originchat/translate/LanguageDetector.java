@@ -0,0 +1,335 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.translate;
+
+import me.nagibatirowanie.originchat.OriginChat;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Offline source language identification for chat messages.
+ * Scripts with a single language are decided by the script itself, Latin and Cyrillic
+ * text is scored against small character trigram profiles and distinctive letters.
+ * Short or ambiguous messages fall back to a rolling estimate of the sender's language.
+ */
+public class LanguageDetector implements Listener {
+
+    private static final int DEFAULT_MIN_LETTERS = 8;
+    // Best score has to beat the second one by this factor
+    private static final double MIN_MARGIN = 1.25;
+    // Weight of older messages in the sender estimate
+    private static final double SENDER_DECAY = 0.8;
+    // Share of the sender estimate the leading language needs
+    private static final double SENDER_MIN_SHARE = 0.6;
+    private static final double SENDER_MIN_WEIGHT = 1.5;
+
+    private static final Map<String, Profile> LATIN = new LinkedHashMap<>();
+    private static final Map<String, Profile> CYRILLIC = new LinkedHashMap<>();
+
+    static {
+        LATIN.put("en", new Profile("_th the he_ _an and nd_ ing ng_ _to to_ _of of_ ion _in in_ _is is_ you _yo ou_ hat tha _it it_ "
+                + "at_ er_ for _fo re_ ent are _ar _wh _be _ha ve_ ll_ _we _so on_ _do ow_ hi_ _ca an_", ""));
+        LATIN.put("de", new Profile("_di die ie_ der er_ en_ _de ch_ ich und _un nd_ ein _ei sch cht _ic _da das as_ ist _is st_ ine "
+                + "_ni nic gen ten in_ _au uch auc te_ _mi mit it_ _es es_ ht_ nn_ _ha _so _wi", "äöüß"));
+        LATIN.put("fr", new Profile("_de de_ es_ _le le_ ent _la la_ _qu que ue_ _et et_ nt_ _pa les _un re_ on_ _po our _ce _je _es "
+                + "est st_ _pr ai_ _ne ais _vo ous vou _tu _ma _co _mo pas as_ _da eur ion", "éèêàùâîôœç"));
+        LATIN.put("es", new Profile("_de de_ _la la_ os_ _qu que ue_ _el el_ _en en_ es_ as_ _co _lo _no _es ent ado do_ _se _po _un "
+                + "_ha ien ar_ con _pe por or_ aci ión _ya est sta _me _te mos _su _ho hoy oy_ tal ais _am ola", "ñ¿¡áíóú"));
+        LATIN.put("pt", new Profile("_de de_ _qu que ue_ os_ _a_ _o_ _e_ do_ da_ _da _do ção ão_ _co _nã não _se _pa _um ent _é_ _es "
+                + "est _po ra_ as_ mos _eu _vo _ma com _me _te _ta ela _ob", "ãõçâêô"));
+        LATIN.put("it", new Profile("_di di_ _ch che he_ _la la_ _il il_ re_ to_ _co _pe per er_ _no _de ne_ _e_ ell lla _un _in one "
+                + "ent _so _se are _ma _qu _ci _sa no_ _mo _fa _ce zio tti _tu tut gli ggi _og ome me_ iao", "òìù"));
+        LATIN.put("pl", new Profile("_ni nie ie_ _na _pr _po _je _to _w_ _z_ wie ego go_ _do _si się ię_ _co _ja _ze ch_ ać_ _ta ani "
+                + "_ma _mi sz_ rze prz _pa _ko ość est jes _ty ny_ _wy cie _ch", "ąęłśźżćń"));
+        LATIN.put("nl", new Profile("_de de_ en_ _he het et_ _ee een _va van an_ _ik ik_ _is is_ _da dat at_ _ni nie iet _ge _ve _me "
+                + "_we _zi _ze er_ _in in_ ijk _wa _ja _je aar _ma oor _vo _te sch", ""));
+        LATIN.put("tr", new Profile("_bi bir ir_ _ve ve_ ler lar _bu bu_ _ne in_ an_ _de ini _ka yor ası eri _ol _ya _ge ın_ _be ben "
+                + "_ok _ha en_ _ku _se _iç ara _mi nda ınd _gi _da ade", "ğşı"));
+        CYRILLIC.put("ru", new Profile("_пр _не не_ _на на_ то_ _по ть_ ого го_ ени _в_ ост _чт что _эт это _ка как ак_ ся_ ет_ ит_ "
+                + "_ко ой_ ый_ ий_ ая_ ать _ты ты_ _да _ну _ме _мн _бы ешь _вс все _сп _хо ста _го", "ыэъё"));
+        CYRILLIC.put("uk", new Profile("_пр _не не_ _на на_ _що що_ _по ння ня_ ти_ _ви _та та_ _як як_ _це це_ ого го_ _ме _ко ся_ "
+                + "ть_ ати ої_ ій_ _ал але _ду дуж уже _бу _мо _вс _ту _і_ _ти ми_ _до _ча _хо", "іїєґ"));
+    }
+
+    private final OriginChat plugin;
+    private volatile boolean enabled;
+    private volatile int minLetters;
+    private final Map<UUID, SenderEstimate> senders = new ConcurrentHashMap<>();
+    private final LongAdder detections = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    public LanguageDetector(OriginChat plugin) {
+        this.plugin = plugin;
+        reload();
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Re-reads detection settings from the main config
+     */
+    public void reload() {
+        FileConfiguration config = plugin.getConfigManager().getMainConfig();
+        enabled = config == null || config.getBoolean("translation.detection.enabled", true);
+        minLetters = config != null ? Math.max(1, config.getInt("translation.detection.min-letters", DEFAULT_MIN_LETTERS)) : DEFAULT_MIN_LETTERS;
+    }
+
+    /**
+     * Detects the language of a message and updates the sender estimate
+     *
+     * @param player Message sender
+     * @param text Message text
+     * @return Base language code (e.g., "en", "uk") or null if unknown
+     */
+    public String detect(Player player, String text) {
+        if (!enabled) {
+            return null;
+        }
+        String lang = detect(text, minLetters);
+        SenderEstimate estimate = senders.computeIfAbsent(player.getUniqueId(), key -> new SenderEstimate());
+        if (lang != null) {
+            detections.increment();
+            estimate.update(lang);
+            return lang;
+        }
+        return estimate.get();
+    }
+
+    /**
+     * Checks whether a translation to the target locale can be skipped
+     *
+     * @param sourceLang Detected source language, may be null
+     * @param targetLocale Target locale (e.g., "en", "pt-BR")
+     * @return true if the message is already in the target language
+     */
+    public boolean isSameLanguage(String sourceLang, String targetLocale) {
+        if (sourceLang == null || targetLocale == null) {
+            return false;
+        }
+        int separator = targetLocale.indexOf('-');
+        String base = separator < 0 ? targetLocale : targetLocale.substring(0, separator);
+        if (!base.equalsIgnoreCase(sourceLang)) {
+            return false;
+        }
+        skipped.increment();
+        return true;
+    }
+
+    /**
+     * Detects the language of a text without any sender context
+     *
+     * @param text Text to analyze
+     * @param minLetters Minimum letters for Latin and Cyrillic text
+     * @return Base language code or null if the text is too short or ambiguous
+     */
+    public static String detect(String text, int minLetters) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        StringBuilder words = new StringBuilder(text.length() + 2).append(' ');
+        int latin = 0;
+        int cyrillic = 0;
+        int kana = 0;
+        int han = 0;
+        Map<String, Integer> scripts = new HashMap<>();
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+            if (!Character.isLetter(cp)) {
+                if (words.charAt(words.length() - 1) != ' ') {
+                    words.append(' ');
+                }
+                continue;
+            }
+            words.appendCodePoint(Character.toLowerCase(cp));
+            Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+            switch (script) {
+                case LATIN -> latin++;
+                case CYRILLIC -> cyrillic++;
+                case HIRAGANA, KATAKANA -> kana++;
+                case HAN -> han++;
+                case HANGUL -> scripts.merge("ko", 1, Integer::sum);
+                case ARABIC -> scripts.merge("ar", 1, Integer::sum);
+                case HEBREW -> scripts.merge("he", 1, Integer::sum);
+                case GREEK -> scripts.merge("el", 1, Integer::sum);
+                case THAI -> scripts.merge("th", 1, Integer::sum);
+                case DEVANAGARI -> scripts.merge("hi", 1, Integer::sum);
+                default -> {
+                }
+            }
+        }
+        if (words.charAt(words.length() - 1) != ' ') {
+            words.append(' ');
+        }
+
+        // Kana only appears in Japanese, Han alone may be Chinese or Japanese
+        if (kana > 0 && kana + han >= Math.max(latin, cyrillic)) {
+            return "ja";
+        }
+        String dominant = null;
+        int dominantCount = Math.max(latin, cyrillic);
+        for (Map.Entry<String, Integer> entry : scripts.entrySet()) {
+            if (entry.getValue() > dominantCount) {
+                dominant = entry.getKey();
+                dominantCount = entry.getValue();
+            }
+        }
+        if (dominant != null) {
+            return dominant;
+        }
+        if (han > dominantCount) {
+            return null;
+        }
+        if (cyrillic > latin && cyrillic >= minLetters) {
+            return score(words, CYRILLIC);
+        }
+        if (latin >= cyrillic && latin >= minLetters) {
+            return score(words, LATIN);
+        }
+        return null;
+    }
+
+    private static String score(CharSequence words, Map<String, Profile> profiles) {
+        String best = null;
+        double bestScore = 0;
+        double secondScore = 0;
+        for (Map.Entry<String, Profile> entry : profiles.entrySet()) {
+            double score = entry.getValue().score(words);
+            if (score > bestScore) {
+                secondScore = bestScore;
+                bestScore = score;
+                best = entry.getKey();
+            } else if (score > secondScore) {
+                secondScore = score;
+            }
+        }
+        if (best == null || bestScore < secondScore * MIN_MARGIN) {
+            return null;
+        }
+        return best;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getDetections() {
+        return detections.sum();
+    }
+
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    /**
+     * Unregisters the listener and forgets sender estimates
+     */
+    public void close() {
+        HandlerList.unregisterAll(this);
+        senders.clear();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        senders.remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Ranked trigrams of a language, '_' marks a word boundary
+     */
+    private static final class Profile {
+        private final Map<String, Integer> weights = new HashMap<>();
+        private final String markers;
+        private final int markerWeight;
+
+        private Profile(String trigrams, String markers) {
+            String[] ranked = trigrams.split(" ");
+            for (int i = 0; i < ranked.length; i++) {
+                weights.putIfAbsent(ranked[i].replace('_', ' '), ranked.length - i);
+            }
+            this.markers = markers;
+            this.markerWeight = ranked.length;
+        }
+
+        private double score(CharSequence words) {
+            double score = 0;
+            for (int i = 0; i + 3 <= words.length(); i++) {
+                char c = words.charAt(i);
+                if (markers.indexOf(c) >= 0) {
+                    score += markerWeight;
+                }
+                Integer weight = weights.get(words.subSequence(i, i + 3).toString());
+                if (weight != null) {
+                    score += weight;
+                }
+            }
+            // The last two characters are never the start of a trigram
+            for (int i = Math.max(0, words.length() - 2); i < words.length(); i++) {
+                if (markers.indexOf(words.charAt(i)) >= 0) {
+                    score += markerWeight;
+                }
+            }
+            return score;
+        }
+    }
+
+    /**
+     * Decaying per-language weights of the recent messages of one sender
+     */
+    private static final class SenderEstimate {
+        private final Map<String, Double> weights = new HashMap<>();
+
+        private synchronized void update(String lang) {
+            weights.replaceAll((key, weight) -> weight * SENDER_DECAY);
+            weights.merge(lang, 1.0, Double::sum);
+            weights.values().removeIf(weight -> weight < 0.05);
+        }
+
+        private synchronized String get() {
+            double total = 0;
+            String best = null;
+            double bestWeight = 0;
+            for (Map.Entry<String, Double> entry : weights.entrySet()) {
+                total += entry.getValue();
+                if (entry.getValue() > bestWeight) {
+                    bestWeight = entry.getValue();
+                    best = entry.getKey();
+                }
+            }
+            if (total < SENDER_MIN_WEIGHT || bestWeight < total * SENDER_MIN_SHARE) {
+                return null;
+            }
+            return best;
+        }
+    }
+}
@@ -201,7 +201,7 @@ public class TranslateManager {
      */
     public String tryTranslateWithLogging(Player player, String text, String toLang) {
         try {
-            // Здесь предполагается вызов TranslateUtil.translate или translateAsync
+            // Shares the translation cache with chat translation
             String translated = me.nagibatirowanie.originchat.utils.TranslateUtil.translate(text, toLang);
             return translated;
         } catch (Exception e) {
@@ -0,0 +1,183 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.translate;
+
+import me.nagibatirowanie.originchat.OriginChat;
+import me.nagibatirowanie.originchat.translate.backend.TranslationBackend;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends translation requests to the backend.
+ * For backends with a batch API, texts going to the same language within a short
+ * window are grouped into one request; other backends get one request per text.
+ */
+public class TranslationBatcher {
+
+    private static final long DEFAULT_WINDOW = 20;
+    private static final int DEFAULT_MAX_SIZE = 32;
+
+    private final TranslationBackend backend;
+    private final TranslationExecutor executor;
+    private final long window;
+    private final int maxSize;
+    private final Map<String, Batch> pending = new HashMap<>();
+    // Requests sent to the backend and not finished yet
+    private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder batchedTexts = new LongAdder();
+
+    public TranslationBatcher(OriginChat plugin, TranslationBackend backend) {
+        this.backend = backend;
+        this.executor = plugin.getTranslationExecutor();
+        FileConfiguration config = plugin.getConfigManager().getMainConfig();
+        this.window = config != null ? Math.max(0, config.getLong("translation.batch.window-ms", DEFAULT_WINDOW)) : DEFAULT_WINDOW;
+        this.maxSize = config != null ? Math.max(1, config.getInt("translation.batch.max-size", DEFAULT_MAX_SIZE)) : DEFAULT_MAX_SIZE;
+    }
+
+    /**
+     * Requests a translation
+     *
+     * @param text Normalized source text
+     * @param lang Normalized target language
+     * @return Future of the translation
+     */
+    public CompletableFuture<String> translate(String text, String lang) {
+        if (window == 0 || maxSize == 1 || !backend.supportsBatch()) {
+            requests.increment();
+            return track(executor.submit(() -> backend.translate(text, lang)));
+        }
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Batch full = null;
+        synchronized (pending) {
+            Batch batch = pending.get(lang);
+            if (batch == null) {
+                batch = new Batch(lang);
+                pending.put(lang, batch);
+                Batch scheduled = batch;
+                CompletableFuture.delayedExecutor(window, TimeUnit.MILLISECONDS).execute(() -> flush(scheduled));
+            }
+            batch.texts.add(text);
+            batch.futures.add(future);
+            if (batch.texts.size() >= maxSize) {
+                pending.remove(lang);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return future;
+    }
+
+    private void flush(Batch batch) {
+        synchronized (pending) {
+            if (pending.get(batch.lang) != batch) {
+                // Already sent because it was full
+                return;
+            }
+            pending.remove(batch.lang);
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        requests.increment();
+        batchedTexts.add(batch.texts.size());
+        track(executor.submit(() -> batch.texts.size() == 1
+                ? List.of(backend.translate(batch.texts.get(0), batch.lang))
+                : backend.translateBatch(batch.texts, batch.lang)
+        )).whenComplete((results, error) -> {
+            if (error == null && results.size() != batch.futures.size()) {
+                error = new IOException(backend.getName() + " returned " + results.size() + " translations for " + batch.futures.size() + " texts");
+            }
+            for (int i = 0; i < batch.futures.size(); i++) {
+                if (error != null) {
+                    batch.futures.get(i).completeExceptionally(error);
+                } else {
+                    batch.futures.get(i).complete(results.get(i));
+                }
+            }
+        });
+    }
+
+    private <T> CompletableFuture<T> track(CompletableFuture<T> request) {
+        inFlight.add(request);
+        request.whenComplete((result, error) -> inFlight.remove(request));
+        return request;
+    }
+
+    /**
+     * Sends the waiting batches right away
+     *
+     * @return Future completed when every request sent so far has finished
+     */
+    public CompletableFuture<Void> drain() {
+        List<Batch> waiting;
+        synchronized (pending) {
+            waiting = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        for (Batch batch : waiting) {
+            send(batch);
+        }
+        return CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * @return Requests sent to the backend
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return Texts sent inside grouped requests
+     */
+    public long getBatchedTexts() {
+        return batchedTexts.sum();
+    }
+
+    /**
+     * Texts waiting for one target language
+     */
+    private static final class Batch {
+        private final String lang;
+        private final List<String> texts = new ArrayList<>();
+        private final List<CompletableFuture<String>> futures = new ArrayList<>();
+
+        private Batch(String lang) {
+            this.lang = lang;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.translate;
+
+import me.nagibatirowanie.originchat.OriginChat;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of translations.
+ * Every target language has its own LRU bucket, entries expire after a TTL,
+ * so a flood of one language cannot push out the phrases of the others.
+ */
+public class TranslationCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final long DEFAULT_TTL_MINUTES = 60;
+
+    private final OriginChat plugin;
+    private final Map<String, LanguageBucket> buckets = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private volatile boolean enabled = true;
+    private volatile int maxEntriesPerLanguage = DEFAULT_MAX_ENTRIES;
+    private volatile long ttlNanos = TimeUnit.MINUTES.toNanos(DEFAULT_TTL_MINUTES);
+
+    public TranslationCache(OriginChat plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * Reads the cache settings from the main config and drops cached entries
+     */
+    public void reload() {
+        FileConfiguration config = plugin.getConfigManager().getMainConfig();
+        if (config != null) {
+            enabled = config.getBoolean("translation.cache.enabled", true);
+            maxEntriesPerLanguage = Math.max(1, config.getInt("translation.cache.max-entries-per-language", DEFAULT_MAX_ENTRIES));
+            ttlNanos = TimeUnit.MINUTES.toNanos(Math.max(1, config.getLong("translation.cache.ttl-minutes", DEFAULT_TTL_MINUTES)));
+        }
+        buckets.clear();
+        plugin.getPluginLogger().debug("[TranslationCache] " + (enabled ? "Enabled, " + maxEntriesPerLanguage
+                + " entries per language, TTL " + TimeUnit.NANOSECONDS.toMinutes(ttlNanos) + " min" : "Disabled"));
+    }
+
+    /**
+     * Normalizes text for use as a cache key: trims it and collapses runs of whitespace.
+     * Case is kept, translators preserve it in the result.
+     *
+     * @param text Source text
+     * @return Normalized text
+     */
+    public static String normalize(String text) {
+        StringBuilder builder = null;
+        int length = text.length();
+        int start = 0;
+        while (start < length && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        int end = length;
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        for (int i = start; i < end; i++) {
+            char ch = text.charAt(i);
+            boolean whitespace = Character.isWhitespace(ch);
+            if (builder == null) {
+                if (whitespace && (ch != ' ' || Character.isWhitespace(text.charAt(i + 1)))) {
+                    builder = new StringBuilder(end - start).append(text, start, i).append(' ');
+                }
+                continue;
+            }
+            if (!whitespace) {
+                builder.append(ch);
+            } else if (builder.charAt(builder.length() - 1) != ' ') {
+                builder.append(' ');
+            }
+        }
+        return builder == null ? text.substring(start, end) : builder.toString();
+    }
+
+    /**
+     * Gets a cached translation
+     *
+     * @param text Normalized source text
+     * @param lang Normalized target language
+     * @return Translation, or null if it is not cached or has expired
+     */
+    public String get(String text, String lang) {
+        if (!enabled) {
+            return null;
+        }
+        LanguageBucket bucket = buckets.get(lang);
+        String result = bucket == null ? null : bucket.get(text, System.nanoTime());
+        if (result == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Stores a translation
+     *
+     * @param text Normalized source text
+     * @param lang Normalized target language
+     * @param translation Translated text
+     */
+    public void put(String text, String lang, String translation) {
+        if (!enabled || translation == null) {
+            return;
+        }
+        buckets.computeIfAbsent(lang, key -> new LanguageBucket()).put(text, translation, System.nanoTime());
+    }
+
+    /**
+     * Drops all cached translations, counters are kept
+     */
+    public void clear() {
+        buckets.clear();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return Number of cached translations over all languages, expired entries included until they are touched
+     */
+    public int size() {
+        int size = 0;
+        for (LanguageBucket bucket : buckets.values()) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    public int getLanguageCount() {
+        return buckets.size();
+    }
+
+    public int getMaxEntriesPerLanguage() {
+        return maxEntriesPerLanguage;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return Entries removed because the bucket was full or the entry expired
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Access-ordered bucket of one target language
+     */
+    private final class LanguageBucket {
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        private synchronized String get(String text, long now) {
+            Entry entry = entries.get(text);
+            if (entry == null) {
+                return null;
+            }
+            if (now - entry.expiresAt > 0) {
+                entries.remove(text);
+                evictions.increment();
+                return null;
+            }
+            return entry.translation;
+        }
+
+        private synchronized void put(String text, String translation, long now) {
+            entries.put(text, new Entry(translation, now + ttlNanos));
+            int limit = maxEntriesPerLanguage;
+            if (entries.size() <= limit) {
+                return;
+            }
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (entries.size() > limit && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+    }
+
+    private static final class Entry {
+        private final String translation;
+        private final long expiresAt;
+
+        private Entry(String translation, long expiresAt) {
+            this.translation = translation;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
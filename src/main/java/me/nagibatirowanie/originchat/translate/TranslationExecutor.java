@@ -0,0 +1,231 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.translate;
+
+import me.nagibatirowanie.originchat.OriginChat;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executor for blocking translation requests.
+ * Runs every request on its own virtual thread, limits the number of requests
+ * talking to the translator at once and rejects new ones when too many are waiting,
+ * so a slow translator never ties up the common pool shared with other plugins.
+ */
+public class TranslationExecutor {
+
+    private static final int DEFAULT_MAX_CONCURRENT = 8;
+    private static final int DEFAULT_MAX_QUEUED = 256;
+    private static final int DEFAULT_CONNECT_TIMEOUT = 2000;
+    private static final int DEFAULT_READ_TIMEOUT = 3000;
+    private static final long DEFAULT_DEADLINE = 4000;
+
+    private final OriginChat plugin;
+    private final ExecutorService executor;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    // Resized in place on reload, so running and waiting requests keep one limit
+    private final ResizableSemaphore permits = new ResizableSemaphore(DEFAULT_MAX_CONCURRENT);
+    private volatile int maxConcurrent = DEFAULT_MAX_CONCURRENT;
+    private volatile int maxQueued = DEFAULT_MAX_QUEUED;
+    private volatile int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    private volatile int readTimeout = DEFAULT_READ_TIMEOUT;
+    private volatile long deadline = DEFAULT_DEADLINE;
+    private volatile boolean fallbackToOriginal = true;
+
+    public TranslationExecutor(OriginChat plugin) {
+        this.plugin = plugin;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("OriginChat-Translate-", 0).factory());
+        reload();
+    }
+
+    /**
+     * Reads the executor settings from the main config
+     */
+    public synchronized void reload() {
+        FileConfiguration config = plugin.getConfigManager().getMainConfig();
+        if (config == null) {
+            return;
+        }
+        int newMaxConcurrent = Math.max(1, config.getInt("translation.executor.max-concurrent-requests", DEFAULT_MAX_CONCURRENT));
+        if (newMaxConcurrent != maxConcurrent) {
+            permits.resize(maxConcurrent, newMaxConcurrent);
+            maxConcurrent = newMaxConcurrent;
+        }
+        maxQueued = Math.max(0, config.getInt("translation.executor.max-queued-requests", DEFAULT_MAX_QUEUED));
+        connectTimeout = Math.max(1, config.getInt("translation.connect-timeout-ms", DEFAULT_CONNECT_TIMEOUT));
+        readTimeout = Math.max(1, config.getInt("translation.read-timeout-ms", DEFAULT_READ_TIMEOUT));
+        deadline = Math.max(1, config.getLong("translation.deadline-ms", DEFAULT_DEADLINE));
+        fallbackToOriginal = config.getBoolean("translation.fallback-to-original", true);
+    }
+
+    /**
+     * Runs a translation request
+     *
+     * @param task Blocking request
+     * @param <T> Result type
+     * @return Future of the result, failed with RejectedExecutionException if the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        // Requests about to take a free slot are not counted as waiting
+        if (queued.incrementAndGet() > maxQueued + Math.max(0, permits.availablePermits())) {
+            queued.decrementAndGet();
+            rejected.increment();
+            future.completeExceptionally(new RejectedExecutionException("Translation queue is full"));
+            return future;
+        }
+        try {
+            executor.execute(() -> run(task, future));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            rejected.increment();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private <T> void run(Callable<T> task, CompletableFuture<T> future) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            queued.decrementAndGet();
+            future.completeExceptionally(e);
+            return;
+        }
+        queued.decrementAndGet();
+        active.incrementAndGet();
+        try {
+            future.complete(task.call());
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        } finally {
+            active.decrementAndGet();
+            completed.increment();
+            permits.release();
+        }
+    }
+
+    /**
+     * Limits the time a caller waits for a translation
+     *
+     * @param future Translation future owned by the caller
+     * @param original Text delivered when the deadline passes and the fallback is enabled
+     * @return Future completed with the translation, the original text or a TimeoutException
+     */
+    public CompletableFuture<String> withDeadline(CompletableFuture<String> future, String original) {
+        return future.orTimeout(deadline, TimeUnit.MILLISECONDS).exceptionally(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof TimeoutException) {
+                timeouts.increment();
+                if (fallbackToOriginal) {
+                    return original;
+                }
+            }
+            throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+        });
+    }
+
+    /**
+     * Stops the executor, interrupting running requests
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * @return Requests waiting for a free slot
+     */
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    /**
+     * @return Requests talking to the translator right now
+     */
+    public int getActive() {
+        return active.get();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Semaphore whose number of permits can change while requests hold or wait for them
+     */
+    private static final class ResizableSemaphore extends Semaphore {
+
+        private ResizableSemaphore(int permits) {
+            super(permits);
+        }
+
+        /**
+         * Adds or takes away permits, taken permits are missed by the next releases
+         *
+         * @param from Current number of permits
+         * @param to New number of permits
+         */
+        private void resize(int from, int to) {
+            if (to > from) {
+                release(to - from);
+            } else if (to < from) {
+                reducePermits(from - to);
+            }
+        }
+    }
+}
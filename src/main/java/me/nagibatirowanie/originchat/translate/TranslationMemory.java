@@ -0,0 +1,357 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.translate;
+
+import me.nagibatirowanie.originchat.OriginChat;
+import me.nagibatirowanie.originchat.database.DatabaseHelper;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Translations persisted in the database, so a restart does not start with a cold cache.
+ * Rows are keyed by language and SHA-256 of the normalized text. Uses and new translations
+ * are collected in memory and written in one transaction periodically; the most used rows
+ * are loaded into the translation cache in the background on startup. All database work
+ * runs on one thread of the translation memory, which never closes the shared connection.
+ */
+public class TranslationMemory {
+
+    private static final String TABLE = "translation_memory";
+    private static final int DEFAULT_PRELOAD = 2000;
+    private static final long DEFAULT_FLUSH_INTERVAL = 30;
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private final OriginChat plugin;
+    private final DatabaseHelper dbHelper;
+    private final String tableName;
+    private final boolean enabled;
+    private final int preloadSize;
+    // Writes waiting for the next flush, keyed by language and normalized text
+    private final Map<String, PendingEntry> pending = new ConcurrentHashMap<>();
+    // Preload, lookups and flushes run one at a time here, so they don't take translation
+    // executor permits and never use the shared connection at the same time
+    private final ExecutorService databaseExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "OriginChat-TranslationMemory");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder preloaded = new LongAdder();
+    private final BukkitTask flushTask;
+
+    private volatile boolean available = false;
+
+    public TranslationMemory(OriginChat plugin) {
+        this.plugin = plugin;
+        this.dbHelper = new DatabaseHelper(plugin);
+        this.tableName = "oc_" + TABLE;
+
+        FileConfiguration config = plugin.getConfigManager().getMainConfig();
+        this.enabled = config == null || config.getBoolean("translation.memory.enabled", true);
+        this.preloadSize = config != null ? Math.max(0, config.getInt("translation.memory.preload", DEFAULT_PRELOAD)) : DEFAULT_PRELOAD;
+        long flushInterval = config != null ? Math.max(1, config.getLong("translation.memory.flush-interval-seconds", DEFAULT_FLUSH_INTERVAL)) : DEFAULT_FLUSH_INTERVAL;
+
+        if (!enabled || plugin.getDatabaseManager() == null) {
+            flushTask = null;
+            return;
+        }
+        databaseExecutor.execute(this::initialize);
+        flushTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::flush, flushInterval * 20L, flushInterval * 20L);
+    }
+
+    private void initialize() {
+        if (!plugin.getDatabaseManager().isEnabled()) {
+            plugin.getPluginLogger().warning("[TranslationMemory] Database is not available, translations will not be persisted");
+            return;
+        }
+        if (!dbHelper.tableExists(TABLE) && !dbHelper.createTable(TABLE, "memory_key", "VARCHAR(96)", false)) {
+            plugin.getPluginLogger().severe("[TranslationMemory] Failed to create table " + tableName);
+            return;
+        }
+        boolean columns = dbHelper.addColumn(TABLE, "lang", "VARCHAR(16)", "")
+                && dbHelper.addColumn(TABLE, "source", "TEXT", null)
+                && dbHelper.addColumn(TABLE, "translation", "TEXT", null)
+                && dbHelper.addColumn(TABLE, "hits", "INTEGER", "0")
+                && dbHelper.addColumn(TABLE, "last_used", "BIGINT", "0");
+        if (!columns) {
+            plugin.getPluginLogger().severe("[TranslationMemory] Failed to add columns to table " + tableName);
+            return;
+        }
+        available = true;
+        preload();
+    }
+
+    /**
+     * Loads the most used translations into the translation cache
+     */
+    private void preload() {
+        TranslationCache cache = plugin.getTranslationCache();
+        if (preloadSize == 0 || cache == null || !cache.isEnabled()) {
+            return;
+        }
+        String sql = "SELECT lang, source, translation FROM " + tableName + " ORDER BY hits DESC, last_used DESC LIMIT ?";
+        long start = System.currentTimeMillis();
+        try {
+            Connection conn = plugin.getDatabaseManager().getConnection();
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, preloadSize);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        String source = rs.getString("source");
+                        String translation = rs.getString("translation");
+                        if (source != null && translation != null) {
+                            cache.put(source, rs.getString("lang"), translation);
+                            preloaded.increment();
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            plugin.getPluginLogger().warning("[TranslationMemory] Failed to preload translations: " + e.getMessage());
+            return;
+        }
+        plugin.getPluginLogger().debug("[TranslationMemory] Preloaded " + preloaded.sum() + " translations in "
+                + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Looks a translation up in the database. Blocking, must not be called on the main thread.
+     *
+     * @param text Normalized source text
+     * @param lang Normalized target language
+     * @return Stored translation or null
+     */
+    public String lookup(String text, String lang) {
+        return lookupAsync(text, lang).join();
+    }
+
+    /**
+     * Looks a translation up in the database on the thread of the translation memory
+     *
+     * @param text Normalized source text
+     * @param lang Normalized target language
+     * @return Future of the stored translation or null
+     */
+    public CompletableFuture<String> lookupAsync(String text, String lang) {
+        if (!available) {
+            return CompletableFuture.completedFuture(null);
+        }
+        PendingEntry entry = pending.get(pendingKey(text, lang));
+        if (entry != null) {
+            hits.increment();
+            return CompletableFuture.completedFuture(entry.translation);
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> query(text, lang), databaseExecutor);
+        } catch (RejectedExecutionException e) {
+            // Closed, the backend is asked instead
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private String query(String text, String lang) {
+        String translation = null;
+        try {
+            Connection conn = plugin.getDatabaseManager().getConnection();
+            try (PreparedStatement ps = conn.prepareStatement("SELECT translation FROM " + tableName + " WHERE memory_key = ?")) {
+                ps.setString(1, memoryKey(text, lang));
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) {
+                        translation = rs.getString("translation");
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            plugin.getPluginLogger().warning("[TranslationMemory] Failed to look up a translation: " + e.getMessage());
+        }
+        if (translation == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return translation;
+    }
+
+    /**
+     * Records a use of a translation, written to the database on the next flush
+     *
+     * @param text Normalized source text
+     * @param lang Normalized target language
+     * @param translation Translated text
+     */
+    public void record(String text, String lang, String translation) {
+        if (!enabled || translation == null) {
+            return;
+        }
+        pending.compute(pendingKey(text, lang), (key, entry) -> {
+            if (entry == null) {
+                return new PendingEntry(text, lang, translation, 1);
+            }
+            return new PendingEntry(text, lang, translation, entry.uses + 1);
+        });
+    }
+
+    /**
+     * Writes recorded uses and translations in one transaction on the thread of the translation memory
+     */
+    public void flush() {
+        try {
+            databaseExecutor.execute(this::writePending);
+        } catch (RejectedExecutionException e) {
+            // Closed, close() wrote what was left
+        }
+    }
+
+    private void writePending() {
+        if (!available || pending.isEmpty()) {
+            return;
+        }
+        String updateSql = "UPDATE " + tableName + " SET translation = ?, hits = hits + ?, last_used = ? WHERE memory_key = ?";
+        String insertSql = "INSERT INTO " + tableName + " (memory_key, lang, source, translation, hits, last_used) VALUES (?, ?, ?, ?, ?, ?)";
+        long now = System.currentTimeMillis();
+        // Uses recorded while writing stay in pending for the next flush
+        Map<String, PendingEntry> batch = new HashMap<>(pending);
+        boolean written = dbHelper.executeTransaction(conn -> {
+            try (PreparedStatement update = conn.prepareStatement(updateSql);
+                 PreparedStatement insert = conn.prepareStatement(insertSql)) {
+                for (PendingEntry entry : batch.values()) {
+                    String key = memoryKey(entry.text, entry.lang);
+                    update.setString(1, entry.translation);
+                    update.setInt(2, entry.uses);
+                    update.setLong(3, now);
+                    update.setString(4, key);
+                    if (update.executeUpdate() == 0) {
+                        insert.setString(1, key);
+                        insert.setString(2, entry.lang);
+                        insert.setString(3, entry.text);
+                        insert.setString(4, entry.translation);
+                        insert.setInt(5, entry.uses);
+                        insert.setLong(6, now);
+                        insert.executeUpdate();
+                    }
+                }
+            }
+            return true;
+        });
+        if (!written) {
+            // Rolled back, everything is retried on the next flush
+            plugin.getPluginLogger().warning("[TranslationMemory] Failed to write " + batch.size() + " translations, retrying on the next flush");
+            return;
+        }
+        for (Map.Entry<String, PendingEntry> mapEntry : batch.entrySet()) {
+            PendingEntry flushed = mapEntry.getValue();
+            // Only the uses that were written are taken off
+            pending.computeIfPresent(mapEntry.getKey(), (key, entry) -> entry.uses <= flushed.uses ? null
+                    : new PendingEntry(entry.text, entry.lang, entry.translation, entry.uses - flushed.uses));
+        }
+    }
+
+    /**
+     * Stops the flush task and writes what is left, called before the database is closed
+     */
+    public void close() {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+        // Queued lookups run first, then the last flush
+        flush();
+        databaseExecutor.shutdown();
+        try {
+            if (!databaseExecutor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                plugin.getPluginLogger().warning("[TranslationMemory] Timed out writing " + pending.size() + " translations on shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        available = false;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getPreloaded() {
+        return preloaded.sum();
+    }
+
+    public int getPendingWrites() {
+        return pending.size();
+    }
+
+    private static String pendingKey(String text, String lang) {
+        return lang + '\n' + text;
+    }
+
+    private static String memoryKey(String text, String lang) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return lang + ":" + HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Translation waiting to be written with the number of uses since the last flush
+     */
+    private static final class PendingEntry {
+        private final String text;
+        private final String lang;
+        private final String translation;
+        private final int uses;
+
+        private PendingEntry(String text, String lang, String translation, int uses) {
+            this.text = text;
+            this.lang = lang;
+            this.translation = translation;
+            this.uses = uses;
+        }
+    }
+}
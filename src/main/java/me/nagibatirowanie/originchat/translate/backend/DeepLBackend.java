@@ -0,0 +1,113 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.translate.backend;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import me.nagibatirowanie.originchat.OriginChat;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * DeepL API (free and pro endpoints)
+ */
+public class DeepLBackend extends HttpTranslationBackend {
+
+    private final String url;
+    private final String apiKey;
+
+    public DeepLBackend(OriginChat plugin, int connectTimeout, int readTimeout, String url, String apiKey) {
+        super(plugin, connectTimeout, readTimeout);
+        this.url = url;
+        this.apiKey = apiKey;
+    }
+
+    @Override
+    public String getName() {
+        return "deepl";
+    }
+
+    @Override
+    public String translate(String text, String targetLang) throws IOException {
+        return translateBatch(List.of(text), targetLang).get(0);
+    }
+
+    @Override
+    public List<String> translateBatch(List<String> texts, String targetLang) throws IOException {
+        JsonArray textArray = new JsonArray();
+        texts.forEach(textArray::add);
+        JsonObject body = new JsonObject();
+        body.add("text", textArray);
+        body.addProperty("target_lang", toDeepLLanguage(targetLang));
+
+        try {
+            String response = send(request(url)
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "DeepL-Auth-Key " + apiKey)
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build());
+            JsonArray translations = JsonParser.parseString(response).getAsJsonObject().getAsJsonArray("translations");
+            if (translations == null || translations.size() != texts.size()) {
+                throw new IOException("Unexpected number of translations in the response");
+            }
+            List<String> results = new ArrayList<>(translations.size());
+            for (JsonElement translation : translations) {
+                results.add(translation.getAsJsonObject().get("text").getAsString());
+            }
+            return results;
+        } catch (IOException | RuntimeException e) {
+            throw failure(texts.size() == 1 ? texts.get(0) : texts.size() + " texts", targetLang, e);
+        }
+    }
+
+    @Override
+    public boolean supportsBatch() {
+        return true;
+    }
+
+    /**
+     * DeepL uses upper case codes and only knows regional variants of English, Portuguese and Chinese
+     */
+    static String toDeepLLanguage(String lang) {
+        String upper = lang.toUpperCase(Locale.ROOT);
+        int separator = upper.indexOf('-');
+        if (separator < 0) {
+            return upper;
+        }
+        String base = upper.substring(0, separator);
+        switch (base) {
+            case "EN":
+            case "PT":
+                return upper;
+            case "ZH":
+                return upper.endsWith("TW") || upper.endsWith("HK") ? "ZH-HANT" : "ZH-HANS";
+            default:
+                return base;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.translate.backend;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-process backend for load tests and servers without network access.
+ * Looks phrases up in a dictionary from the config and echoes everything else
+ * through a format, optionally after an artificial delay.
+ */
+public class DictionaryBackend implements TranslationBackend {
+
+    private final Map<String, Map<String, String>> phrases = new HashMap<>();
+    private final String fallback;
+    private final long delay;
+
+    /**
+     * @param section dictionary backend section, may be null
+     */
+    public DictionaryBackend(ConfigurationSection section) {
+        this.fallback = section != null ? section.getString("fallback", "{text}") : "{text}";
+        this.delay = section != null ? Math.max(0, section.getLong("delay-ms", 0)) : 0;
+
+        ConfigurationSection phrasesSection = section != null ? section.getConfigurationSection("phrases") : null;
+        if (phrasesSection == null) {
+            return;
+        }
+        for (String lang : phrasesSection.getKeys(false)) {
+            Map<String, String> languagePhrases = new HashMap<>();
+            for (String entry : phrasesSection.getStringList(lang)) {
+                // "source = translation", keys with dots do not fit in YAML paths
+                int separator = entry.indexOf('=');
+                if (separator > 0) {
+                    languagePhrases.put(entry.substring(0, separator).trim().toLowerCase(Locale.ROOT),
+                            entry.substring(separator + 1).trim());
+                }
+            }
+            phrases.put(lang.toLowerCase(Locale.ROOT), languagePhrases);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "dictionary";
+    }
+
+    @Override
+    public String translate(String text, String targetLang) throws IOException {
+        simulateDelay();
+        return lookup(text, targetLang);
+    }
+
+    @Override
+    public List<String> translateBatch(List<String> texts, String targetLang) throws IOException {
+        // One delay per request, like a real batch API
+        simulateDelay();
+        List<String> results = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            results.add(lookup(text, targetLang));
+        }
+        return results;
+    }
+
+    @Override
+    public boolean supportsBatch() {
+        return true;
+    }
+
+    private void simulateDelay() throws IOException {
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Translation request interrupted");
+        }
+    }
+
+    private String lookup(String text, String targetLang) {
+        String lang = targetLang.toLowerCase(Locale.ROOT);
+        Map<String, String> languagePhrases = phrases.get(lang);
+        int separator = lang.indexOf('-');
+        if (languagePhrases == null && separator > 0) {
+            languagePhrases = phrases.get(lang.substring(0, separator));
+        }
+        if (languagePhrases != null) {
+            String translated = languagePhrases.get(text.toLowerCase(Locale.ROOT));
+            if (translated != null) {
+                return translated;
+            }
+        }
+        return fallback.replace("{lang}", targetLang).replace("{text}", text);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.translate.backend;
+
+import me.nagibatirowanie.originchat.OriginChat;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.apache.commons.lang3.StringEscapeUtils.unescapeHtml4;
+
+/**
+ * Google Translate mobile web page, needs no API key
+ */
+public class GoogleWebBackend extends HttpTranslationBackend {
+
+    private static final Pattern TRANSLATION_PATTERN = Pattern.compile("class=\"result-container\">([^<]*)<\\/div>", Pattern.MULTILINE);
+
+    public GoogleWebBackend(OriginChat plugin, int connectTimeout, int readTimeout) {
+        super(plugin, connectTimeout, readTimeout);
+    }
+
+    @Override
+    public String getName() {
+        return "google";
+    }
+
+    @Override
+    public String translate(String text, String targetLang) throws IOException {
+        String url = String.format("https://translate.google.com/m?hl=en&sl=auto&tl=%s&ie=UTF-8&prev=_m&q=%s",
+                targetLang, URLEncoder.encode(text, StandardCharsets.UTF_8));
+        String response;
+        try {
+            response = send(request(url).GET().build());
+        } catch (IOException | RuntimeException e) {
+            throw failure(text, targetLang, e);
+        }
+        Matcher matcher = TRANSLATION_PATTERN.matcher(response);
+        if (matcher.find()) {
+            String match = matcher.group(1);
+            if (match != null && !match.isEmpty()) {
+                return unescapeHtml4(match);
+            }
+        }
+        String errorMsg = String.format("Failed to perform translation. Language: %s, Text: '%s', URL: %s",
+                targetLang, text, url);
+        plugin.getPluginLogger().warning(errorMsg);
+        throw new IOException(errorMsg);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.translate.backend;
+
+import me.nagibatirowanie.originchat.OriginChat;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Base of backends talking to a web service.
+ * All requests of a backend go through one HttpClient, so connections are kept alive
+ * and multiplexed over HTTP/2 instead of doing a TLS handshake for every chat line.
+ */
+public abstract class HttpTranslationBackend implements TranslationBackend {
+
+    protected final OriginChat plugin;
+    protected final HttpClient client;
+    private final Duration requestTimeout;
+
+    protected HttpTranslationBackend(OriginChat plugin, int connectTimeout, int readTimeout) {
+        this.plugin = plugin;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.requestTimeout = Duration.ofMillis(readTimeout);
+    }
+
+    /**
+     * Creates a request builder with the backend timeout
+     *
+     * @param uri Request URI
+     * @return Request builder
+     */
+    protected HttpRequest.Builder request(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(requestTimeout);
+    }
+
+    /**
+     * Sends a request and returns the body of a successful response
+     *
+     * @param request Request to send
+     * @return Response body
+     * @throws IOException on network errors and non-2xx responses
+     */
+    protected String send(HttpRequest request) throws IOException {
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Translation request interrupted");
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(getName() + " responded with HTTP " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    /**
+     * Logs a failed translation and wraps the error
+     *
+     * @param text Source text
+     * @param targetLang Target language
+     * @param e Cause
+     * @return Exception to throw
+     */
+    protected IOException failure(String text, String targetLang, Exception e) {
+        String errorMsg = String.format("Error accessing translation service %s. Language: %s, Text: '%s', Message: %s",
+                getName(), targetLang, text, e.getMessage());
+        plugin.getPluginLogger().warning(errorMsg);
+        return new IOException(errorMsg, e);
+    }
+
+    /**
+     * Stops accepting requests without waiting for the ones in flight, HttpClient.close() would block
+     */
+    @Override
+    public void close() {
+        client.shutdown();
+    }
+}
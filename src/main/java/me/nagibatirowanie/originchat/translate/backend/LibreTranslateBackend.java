@@ -0,0 +1,123 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.translate.backend;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import me.nagibatirowanie.originchat.OriginChat;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LibreTranslate compatible web service (self-hosted or libretranslate.com)
+ */
+public class LibreTranslateBackend extends HttpTranslationBackend {
+
+    private final String url;
+    private final String apiKey;
+
+    public LibreTranslateBackend(OriginChat plugin, int connectTimeout, int readTimeout, String url, String apiKey) {
+        super(plugin, connectTimeout, readTimeout);
+        this.url = url;
+        this.apiKey = apiKey;
+    }
+
+    @Override
+    public String getName() {
+        return "libretranslate";
+    }
+
+    @Override
+    public String translate(String text, String targetLang) throws IOException {
+        try {
+            JsonElement translated = post(new JsonPrimitive(text), targetLang);
+            return translated.getAsString();
+        } catch (IOException | RuntimeException e) {
+            throw failure(text, targetLang, e);
+        }
+    }
+
+    @Override
+    public List<String> translateBatch(List<String> texts, String targetLang) throws IOException {
+        JsonArray q = new JsonArray();
+        texts.forEach(q::add);
+        try {
+            JsonArray translated = post(q, targetLang).getAsJsonArray();
+            List<String> results = new ArrayList<>(translated.size());
+            for (JsonElement element : translated) {
+                results.add(element.getAsString());
+            }
+            return results;
+        } catch (IOException | RuntimeException e) {
+            throw failure(texts.size() + " texts", targetLang, e);
+        }
+    }
+
+    @Override
+    public boolean supportsBatch() {
+        return true;
+    }
+
+    /**
+     * Sends a translation request, q may be a single text or an array of texts
+     *
+     * @return translatedText of the response
+     */
+    private JsonElement post(JsonElement q, String targetLang) throws IOException {
+        JsonObject body = new JsonObject();
+        body.add("q", q);
+        body.addProperty("source", "auto");
+        body.addProperty("target", toLibreLanguage(targetLang));
+        body.addProperty("format", "text");
+        if (apiKey != null && !apiKey.isEmpty()) {
+            body.addProperty("api_key", apiKey);
+        }
+
+        String response = send(request(url)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build());
+        JsonElement translated = JsonParser.parseString(response).getAsJsonObject().get("translatedText");
+        if (translated == null || translated.isJsonNull()) {
+            throw new IOException("No translatedText in the response");
+        }
+        return translated;
+    }
+
+    /**
+     * LibreTranslate uses bare language codes, except for Chinese variants
+     */
+    static String toLibreLanguage(String lang) {
+        int separator = lang.indexOf('-');
+        if (separator < 0) {
+            return lang;
+        }
+        String base = lang.substring(0, separator);
+        return base.equals("zh") && lang.endsWith("TW") ? "zt" : base;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.translate.backend;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service that translates chat text.
+ * Implementations are called from translation executor threads and must be thread-safe.
+ */
+public interface TranslationBackend {
+
+    /**
+     * @return Backend name used in the config
+     */
+    String getName();
+
+    /**
+     * Translates text, the source language is detected by the backend
+     *
+     * @param text Normalized source text
+     * @param targetLang Normalized target language (e.g., "en", "uk-UA")
+     * @return Translated text
+     * @throws IOException in case of network or translation error
+     */
+    String translate(String text, String targetLang) throws IOException;
+
+    /**
+     * Translates several texts to one language
+     *
+     * @param texts Normalized source texts
+     * @param targetLang Normalized target language
+     * @return Translations in the order of the texts
+     * @throws IOException in case of network or translation error
+     */
+    default List<String> translateBatch(List<String> texts, String targetLang) throws IOException {
+        List<String> results = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            results.add(translate(text, targetLang));
+        }
+        return results;
+    }
+
+    /**
+     * @return true if translateBatch sends one request for all texts
+     */
+    default boolean supportsBatch() {
+        return false;
+    }
+
+    /**
+     * Releases connections held by the backend, must not block
+     */
+    default void close() {
+    }
+}
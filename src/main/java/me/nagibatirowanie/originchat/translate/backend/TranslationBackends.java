@@ -0,0 +1,78 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.translate.backend;
+
+import me.nagibatirowanie.originchat.OriginChat;
+import me.nagibatirowanie.originchat.translate.TranslationExecutor;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.Locale;
+
+/**
+ * Creates the translation backend selected in the config
+ */
+public final class TranslationBackends {
+
+    private TranslationBackends() {
+    }
+
+    /**
+     * Creates the backend from translation.backend of the main config.
+     * Unknown names and backends missing their API key fall back to Google.
+     *
+     * @param plugin Plugin instance
+     * @return New backend, the caller closes it
+     */
+    public static TranslationBackend create(OriginChat plugin) {
+        FileConfiguration config = plugin.getConfigManager().getMainConfig();
+        TranslationExecutor executor = plugin.getTranslationExecutor();
+        int connectTimeout = executor.getConnectTimeout();
+        int readTimeout = executor.getReadTimeout();
+
+        String name = config != null ? config.getString("translation.backend", "google").toLowerCase(Locale.ROOT) : "google";
+        ConfigurationSection section = config != null ? config.getConfigurationSection("translation.backends." + name) : null;
+
+        switch (name) {
+            case "google":
+                break;
+            case "libretranslate":
+                return new LibreTranslateBackend(plugin, connectTimeout, readTimeout,
+                        section != null ? section.getString("url", "https://libretranslate.com/translate") : "https://libretranslate.com/translate",
+                        section != null ? section.getString("api-key", "") : "");
+            case "deepl":
+                String apiKey = section != null ? section.getString("api-key", "") : "";
+                if (apiKey.isEmpty()) {
+                    plugin.getPluginLogger().warning("[TranslationBackends] DeepL backend needs translation.backends.deepl.api-key, using google");
+                    break;
+                }
+                return new DeepLBackend(plugin, connectTimeout, readTimeout,
+                        section.getString("url", "https://api-free.deepl.com/v2/translate"), apiKey);
+            case "dictionary":
+                return new DictionaryBackend(section);
+            default:
+                plugin.getPluginLogger().warning("[TranslationBackends] Unknown translation backend '" + name + "', using google");
+                break;
+        }
+        return new GoogleWebBackend(plugin, connectTimeout, readTimeout);
+    }
+}
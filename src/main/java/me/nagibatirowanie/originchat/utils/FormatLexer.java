@@ -0,0 +1,358 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.utils;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-pass lexer that turns legacy codes (&c, &l, &#rrggbb, &x&r&r&g&g&b&b and &/ end tags)
+ * straight into components, with the same nesting rules as the MiniMessage text produced by
+ * {@link FormatUtil#toMini(String)}. Text with MiniMessage tags, escapes or gradients is left
+ * to the full MiniMessage pipeline.
+ */
+final class FormatLexer {
+
+    private static final TextColor[] LEGACY_COLORS = {
+            NamedTextColor.BLACK, NamedTextColor.DARK_BLUE, NamedTextColor.DARK_GREEN, NamedTextColor.DARK_AQUA,
+            NamedTextColor.DARK_RED, NamedTextColor.DARK_PURPLE, NamedTextColor.GOLD, NamedTextColor.GRAY,
+            NamedTextColor.DARK_GRAY, NamedTextColor.BLUE, NamedTextColor.GREEN, NamedTextColor.AQUA,
+            NamedTextColor.RED, NamedTextColor.LIGHT_PURPLE, NamedTextColor.YELLOW, NamedTextColor.WHITE
+    };
+
+    private FormatLexer() {
+    }
+
+    /**
+     * Parses text with legacy formatting, '§' is treated like '&'
+     *
+     * @param text Text to parse
+     * @return Formatted Component, or null if the text needs the MiniMessage parser
+     */
+    static Component parse(String text) {
+        int length = text.length();
+        List<Tag> open = new ArrayList<>();
+        List<Component> parts = new ArrayList<>(4);
+        StringBuilder segment = new StringBuilder(length);
+        Style style = Style.empty();
+
+        for (int index = 0; index < length; index++) {
+            char ch = text.charAt(index);
+            if (ch == '<' || ch == '\\') {
+                return null;
+            }
+            if (ch != '&' && ch != '§') {
+                segment.append(ch);
+                continue;
+            }
+            if (++index == length) {
+                segment.append('&');
+                break;
+            }
+            char next = text.charAt(index);
+            if (next == '<' || next == '\\' || next == '@') {
+                return null;
+            }
+
+            if (next == '/') {
+                if (++index == length) {
+                    segment.append("&/");
+                    continue;
+                }
+                next = text.charAt(index);
+                if (next == '<' || next == '\\') {
+                    return null;
+                }
+                if (next == 'r') {
+                    continue;
+                }
+                String name = tagName(next);
+                int position = name == null ? -1 : lastIndexOf(open, name);
+                if (position == -1) {
+                    segment.append("&/").append(next);
+                    continue;
+                }
+                // Closing a tag also closes everything opened after it
+                flush(parts, segment, style);
+                open.subList(position, open.size()).clear();
+                style = styleOf(open);
+                continue;
+            }
+
+            Tag tag = null;
+            if (next == '#') {
+                TextColor color = hexColor(text, index + 1);
+                if (color != null) {
+                    tag = new Tag("color", color, null);
+                    index += 6;
+                }
+            } else if (next == 'x') {
+                TextColor color = repeatedHexColor(text, index + 1);
+                if (color != null) {
+                    tag = new Tag("color", color, null);
+                    index += 12;
+                }
+            } else if (next == 'r') {
+                flush(parts, segment, style);
+                open.clear();
+                style = Style.empty();
+                continue;
+            } else {
+                tag = simpleTag(next);
+            }
+            if (tag == null) {
+                segment.append('&').append(next);
+                continue;
+            }
+            flush(parts, segment, style);
+            open.add(tag);
+            style = styleOf(open);
+        }
+        flush(parts, segment, style);
+
+        if (parts.isEmpty()) {
+            return Component.empty();
+        }
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        return Component.text().append(parts).build();
+    }
+
+    /**
+     * Removes legacy codes, hex colors and MiniMessage color tags in one pass
+     *
+     * @param text Text to strip
+     * @return Text without color formatting
+     */
+    static String strip(String text) {
+        int length = text.length();
+        StringBuilder builder = null;
+        int copied = 0;
+        for (int index = 0; index < length; index++) {
+            char ch = text.charAt(index);
+            int skip = 0;
+            if ((ch == '&' || ch == '§') && index + 1 < length) {
+                char next = text.charAt(index + 1);
+                if (next == '#' && isHex(text, index + 2, 6, 1)) {
+                    skip = 8;
+                } else if ((next == 'x' || next == 'X') && isRepeatedHex(text, index + 2)) {
+                    skip = 14;
+                } else if (isLegacyCode(next)) {
+                    skip = 2;
+                }
+            } else if (ch == '<') {
+                int end = text.indexOf('>', index + 1);
+                if (end > index + 1 && isColorTag(text, index + 1, end)) {
+                    skip = end - index + 1;
+                }
+            }
+            if (skip > 0) {
+                if (builder == null) {
+                    builder = new StringBuilder(length);
+                }
+                builder.append(text, copied, index);
+                index += skip - 1;
+                copied = index + 1;
+            }
+        }
+        if (builder == null) {
+            return text;
+        }
+        return builder.append(text, copied, length).toString();
+    }
+
+    private static void flush(List<Component> parts, StringBuilder segment, Style style) {
+        if (segment.length() > 0) {
+            parts.add(Component.text(segment.toString(), style));
+            segment.setLength(0);
+        }
+    }
+
+    private static Style styleOf(List<Tag> open) {
+        Style.Builder builder = Style.style();
+        for (Tag tag : open) {
+            if (tag.color != null) {
+                builder.color(tag.color);
+            } else {
+                builder.decoration(tag.decoration, true);
+            }
+        }
+        return builder.build();
+    }
+
+    private static int lastIndexOf(List<Tag> open, String name) {
+        for (int i = open.size() - 1; i >= 0; i--) {
+            if (open.get(i).name.equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Tag name used by toMini for a code, so end tags close the same tags
+     */
+    private static String tagName(char ch) {
+        if (ch == '#' || ch == 'x') {
+            return "color";
+        }
+        Tag tag = simpleTag(ch);
+        return tag != null ? tag.name : null;
+    }
+
+    private static Tag simpleTag(char ch) {
+        if ('0' <= ch && ch <= '9') {
+            return new Tag(String.valueOf(ch), LEGACY_COLORS[ch - '0'], null);
+        }
+        if ('a' <= ch && ch <= 'f') {
+            return new Tag(String.valueOf(ch), LEGACY_COLORS[ch - 'a' + 10], null);
+        }
+        return switch (ch) {
+            case 'k' -> new Tag("obf", null, TextDecoration.OBFUSCATED);
+            case 'l' -> new Tag("b", null, TextDecoration.BOLD);
+            case 'm' -> new Tag("st", null, TextDecoration.STRIKETHROUGH);
+            case 'n' -> new Tag("u", null, TextDecoration.UNDERLINED);
+            case 'o' -> new Tag("i", null, TextDecoration.ITALIC);
+            default -> null;
+        };
+    }
+
+    /**
+     * Lower case rrggbb, as accepted by toMini
+     */
+    private static TextColor hexColor(String text, int start) {
+        if (start + 6 > text.length()) {
+            return null;
+        }
+        int rgb = 0;
+        for (int i = start; i < start + 6; i++) {
+            int digit = lowerHexDigit(text.charAt(i));
+            if (digit < 0) {
+                return null;
+            }
+            rgb = rgb << 4 | digit;
+        }
+        return TextColor.color(rgb);
+    }
+
+    /**
+     * &r&r&g&g&b&b after &x, lower case digits as accepted by toMini
+     */
+    private static TextColor repeatedHexColor(String text, int start) {
+        if (start + 12 > text.length()) {
+            return null;
+        }
+        int rgb = 0;
+        for (int i = start; i < start + 12; i += 2) {
+            char prefix = text.charAt(i);
+            int digit = lowerHexDigit(text.charAt(i + 1));
+            if ((prefix != '&' && prefix != '§') || digit < 0) {
+                return null;
+            }
+            rgb = rgb << 4 | digit;
+        }
+        return TextColor.color(rgb);
+    }
+
+    private static int lowerHexDigit(char ch) {
+        if ('0' <= ch && ch <= '9') {
+            return ch - '0';
+        }
+        if ('a' <= ch && ch <= 'f') {
+            return ch - 'a' + 10;
+        }
+        return -1;
+    }
+
+    private static boolean isLegacyCode(char ch) {
+        char lower = Character.toLowerCase(ch);
+        return ('0' <= lower && lower <= '9') || ('a' <= lower && lower <= 'f') || ('k' <= lower && lower <= 'o') || lower == 'r';
+    }
+
+    private static boolean isHex(String text, int start, int count, int step) {
+        if (start + (count - 1) * step >= text.length()) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            if (Character.digit(text.charAt(start + i * step), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isRepeatedHex(String text, int start) {
+        if (!isHex(text, start + 1, 6, 2)) {
+            return false;
+        }
+        for (int i = start; i < start + 12; i += 2) {
+            char prefix = text.charAt(i);
+            if (prefix != '&' && prefix != '§') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Color tags removed when colors are disabled: color, hex, named, gradient and rainbow tags
+     */
+    private static boolean isColorTag(String text, int start, int end) {
+        String inner = text.substring(start, end);
+        String lower = inner.toLowerCase(java.util.Locale.ROOT);
+        if ((lower.startsWith("color:") && lower.length() > 6)
+                || (lower.startsWith("gradient:") && lower.length() > 9)
+                || lower.startsWith("rainbow")
+                || lower.equals("/color") || lower.equals("/gradient") || lower.equals("/rainbow")) {
+            return true;
+        }
+        if (lower.length() == 7 && lower.charAt(0) == '#') {
+            return isHex(lower, 1, 6, 1);
+        }
+        for (int i = 0; i < lower.length(); i++) {
+            char ch = lower.charAt(i);
+            if (!(('a' <= ch && ch <= 'z') || ch == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Tag {
+        private final String name;
+        private final TextColor color;
+        private final TextDecoration decoration;
+
+        private Tag(String name, TextColor color, TextDecoration decoration) {
+            this.name = name;
+            this.color = color;
+            this.decoration = decoration;
+        }
+    }
+}
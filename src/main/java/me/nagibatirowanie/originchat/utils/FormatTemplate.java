@@ -0,0 +1,287 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.utils;
+
+import me.nagibatirowanie.originchat.OriginChat;
+import me.nagibatirowanie.originchat.animation.AnimationManager;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TextReplacementConfig;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Format string compiled once into a pre-parsed Component with dynamic slots.
+ * Static text and colors are parsed a single time, only slot values,
+ * PlaceholderAPI tokens and animations are evaluated on each render.
+ */
+public class FormatTemplate {
+
+    // Private use characters never produced by MiniMessage or legacy codes
+    private static final char MARKER_START = '\uE000';
+    private static final char MARKER_END = '\uE001';
+    private static final Pattern MARKER_PATTERN = Pattern.compile(MARKER_START + "(\\d+)" + MARKER_END);
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("\\{([^{}\\s]+)}|%([^%\\s]+)%");
+
+    private final String source;
+    private final String marked;
+    private final Token[] tokens;
+    private final Component compiled;
+
+    private FormatTemplate(String source, String marked, Token[] tokens, Component compiled) {
+        this.source = source;
+        this.marked = marked;
+        this.tokens = tokens;
+        this.compiled = compiled;
+    }
+
+    /**
+     * Compiles a format string. Every {slot} from the given list, every {animation_...}
+     * and every %placeholder% (when PlaceholderAPI is installed) becomes a dynamic slot,
+     * everything else is parsed once with colors enabled.
+     *
+     * @param format Format string from the config
+     * @param slots Names of the slots filled by the caller on render, without braces
+     * @return Compiled template
+     */
+    public static FormatTemplate compile(String format, Collection<String> slots) {
+        return compile(format, slots, true);
+    }
+
+    /**
+     * Compiles a format string, see {@link #compile(String, Collection)}
+     *
+     * @param format Format string from the config
+     * @param slots Names of the slots filled by the caller on render, without braces
+     * @param enablePlaceholders Resolve %placeholders%, when false they are kept as text
+     * @return Compiled template
+     */
+    public static FormatTemplate compile(String format, Collection<String> slots, boolean enablePlaceholders) {
+        if (format == null) {
+            format = "";
+        }
+
+        List<Token> tokens = new ArrayList<>();
+        StringBuilder marked = new StringBuilder(format.length());
+        boolean placeholders = enablePlaceholders && FormatUtil.isPlaceholderAPIEnabled();
+        Matcher matcher = TOKEN_PATTERN.matcher(format);
+        int last = 0;
+        while (matcher.find()) {
+            Token token = null;
+            String slot = matcher.group(1);
+            if (slot != null) {
+                if (slots.contains(slot)) {
+                    token = new Token(TokenType.SLOT, slot);
+                } else if (slot.startsWith("animation_")) {
+                    token = new Token(TokenType.ANIMATION, matcher.group());
+                }
+            } else if (placeholders) {
+                token = new Token(TokenType.PLACEHOLDER, matcher.group());
+            }
+            if (token == null) {
+                continue;
+            }
+            marked.append(format, last, matcher.start())
+                    .append(MARKER_START).append(tokens.size()).append(MARKER_END);
+            tokens.add(token);
+            last = matcher.end();
+        }
+        marked.append(format, last, format.length());
+
+        String markedText = marked.toString();
+        Component parsed = FormatUtil.format(markedText, true, false, false);
+        // Gradients split text per character and click values are not text at all,
+        // such templates can only be rendered by string substitution
+        if (countMarkers(parsed) != tokens.size()) {
+            parsed = null;
+        }
+        return new FormatTemplate(format, markedText, tokens.toArray(new Token[0]), parsed);
+    }
+
+    /**
+     * Renders the template for a player
+     *
+     * @param player Player for placeholder and animation context, may be null
+     * @param slots Values of the slots declared on compile
+     * @return Formatted Component
+     */
+    public Component render(Player player, Map<String, Component> slots) {
+        if (tokens.length == 0) {
+            return compiled != null ? compiled : FormatUtil.format(marked, true, false, false);
+        }
+
+        Component[] values = new Component[tokens.length];
+        String[] resolved = new String[tokens.length];
+        boolean plain = compiled != null;
+        for (int i = 0; i < tokens.length; i++) {
+            Token token = tokens[i];
+            if (token.type == TokenType.SLOT) {
+                Component value = slots.get(token.value);
+                values[i] = value != null ? value : Component.empty();
+                continue;
+            }
+            String value = token.type == TokenType.PLACEHOLDER
+                    ? resolvePlaceholder(player, token.value)
+                    : resolveAnimation(player, token.value);
+            resolved[i] = value;
+            if (hasFormatting(value)) {
+                // Keep legacy semantics: colors from a placeholder apply to the text after it
+                plain = false;
+            } else {
+                values[i] = Component.text(value);
+            }
+        }
+
+        if (plain) {
+            return replaceMarkers(compiled, values);
+        }
+
+        StringBuilder builder = new StringBuilder(marked.length() + 32);
+        Matcher matcher = MARKER_PATTERN.matcher(marked);
+        int slotCount = 0;
+        while (matcher.find()) {
+            int index = Integer.parseInt(matcher.group(1));
+            if (tokens[index].type == TokenType.SLOT) {
+                slotCount++;
+                matcher.appendReplacement(builder, matcher.group());
+            } else {
+                matcher.appendReplacement(builder, Matcher.quoteReplacement(resolved[index]));
+            }
+        }
+        matcher.appendTail(builder);
+
+        Component parsed = FormatUtil.format(builder.toString(), true, false, false);
+        if (countMarkers(parsed) == slotCount) {
+            return replaceMarkers(parsed, values);
+        }
+
+        // Markers did not survive parsing, substitute slot values as legacy text
+        builder.setLength(0);
+        matcher = MARKER_PATTERN.matcher(marked);
+        while (matcher.find()) {
+            int index = Integer.parseInt(matcher.group(1));
+            String value = resolved[index] != null ? resolved[index] : FormatUtil.toLegacy(values[index]);
+            matcher.appendReplacement(builder, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(builder);
+        return FormatUtil.format(builder.toString(), true, false, false);
+    }
+
+    /**
+     * Checks whether rendering depends on anything but the caller's slots
+     *
+     * @return true if the template has no placeholders and animations
+     */
+    public boolean isStatic() {
+        for (Token token : tokens) {
+            if (token.type != TokenType.SLOT) {
+                return false;
+            }
+        }
+        return compiled != null;
+    }
+
+    /**
+     * Gets the format string the template was compiled from
+     *
+     * @return Source format string
+     */
+    public String getSource() {
+        return source;
+    }
+
+    private static Component replaceMarkers(Component component, Component[] values) {
+        return component.replaceText(TextReplacementConfig.builder()
+                .match(MARKER_PATTERN)
+                .replacement((result, builder) -> values[Integer.parseInt(result.group(1))])
+                .build());
+    }
+
+    private static int countMarkers(Component component) {
+        int count = 0;
+        if (component instanceof TextComponent text) {
+            Matcher matcher = MARKER_PATTERN.matcher(text.content());
+            while (matcher.find()) {
+                count++;
+            }
+        }
+        for (Component child : component.children()) {
+            count += countMarkers(child);
+        }
+        return count;
+    }
+
+    private static boolean hasFormatting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '&' || ch == '§' || ch == '<') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String resolvePlaceholder(Player player, String token) {
+        if (player == null) {
+            return token;
+        }
+        try {
+            return FormatUtil.setPlaceholders(player, token);
+        } catch (Exception e) {
+            Bukkit.getLogger().warning("Error processing placeholders: " + e.getMessage());
+            return token;
+        }
+    }
+
+    private static String resolveAnimation(Player player, String token) {
+        try {
+            AnimationManager animationManager = OriginChat.getInstance().getAnimationManager();
+            if (animationManager != null) {
+                return animationManager.processAnimations(token, player);
+            }
+        } catch (Exception e) {
+            Bukkit.getLogger().warning("Error processing animations: " + e.getMessage());
+        }
+        return token;
+    }
+
+    private enum TokenType {
+        SLOT, PLACEHOLDER, ANIMATION
+    }
+
+    private static class Token {
+        private final TokenType type;
+        private final String value;
+
+        private Token(TokenType type, String value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
+}
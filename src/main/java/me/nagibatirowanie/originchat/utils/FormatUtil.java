@@ -28,18 +28,14 @@
  import net.kyori.adventure.text.minimessage.MiniMessage;
  import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
  import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
- import net.kyori.adventure.text.format.NamedTextColor;
  
  import org.bukkit.Bukkit;
  import org.bukkit.entity.Player;
  
- import java.util.ArrayList;
+ import java.util.Arrays;
  import java.util.Collection;
- import java.util.Collections;
- import java.util.EnumSet;
- import java.util.List;
- import java.util.Set;
- import java.util.regex.Matcher;
+ import java.util.Map;
+ import java.util.concurrent.ConcurrentHashMap;
  import java.util.regex.Pattern;
  
  /**
@@ -62,28 +58,97 @@
      private static final PlainTextComponentSerializer PLAIN_SERIALIZER = PlainTextComponentSerializer.plainText();
 
      // MiniTranslator implementation
-     private static final Set<MiniTranslatorOption> ALL_OPTIONS = Collections.unmodifiableSet(EnumSet.allOf(MiniTranslatorOption.class));
-     private static final Pattern HEX_COLOR = Pattern.compile("([\\da-f]{6})");
-     private static final Pattern LEGACY_HEX_COLOR = Pattern.compile("&([\\da-f])&([\\da-f])&([\\da-f])&([\\da-f])&([\\da-f])&([\\da-f])");
      
      // Pattern for detecting legacy color codes (both & and § symbols)
      private static final Pattern LEGACY_COLOR_PATTERN = Pattern.compile("[&§][0-9a-fk-or]", Pattern.CASE_INSENSITIVE);
-     
-     // Patterns for detecting and removing all types of color formatting
-     private static final Pattern HEX_PATTERN = Pattern.compile("(?i)[&§]#[0-9a-f]{6}");
-     private static final Pattern HEX_X_PATTERN = Pattern.compile("(?i)[&§]x([&§][0-9a-f]){6}");
-     private static final Pattern MINIMESSAGE_COLOR_PATTERN = Pattern.compile("(?i)<(color:[^>]+|#[0-9a-f]{6}|[a-z_]+|/color|gradient:[^>]+|/gradient|rainbow[^>]*|/rainbow)>");
+
+     // Parsed constant text of locale messages, tab and scoreboard lines, cleared on reload
+     private static final int CACHE_SIZE = 2048;
+     private static final Map<String, Component> COMPONENT_CACHE = new ConcurrentHashMap<>();
+     private static final Map<String, String> LEGACY_CACHE = new ConcurrentHashMap<>();
 
      /**
       * Checks if PlaceholderAPI is available
       */
-     private static boolean isPlaceholderAPIEnabled() {
+     public static boolean isPlaceholderAPIEnabled() {
          if (placeholderAPIEnabled == null) {
              placeholderAPIEnabled = Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null;
          }
          return placeholderAPIEnabled;
      }
 
+     /**
+      * Resolves PlaceholderAPI placeholders through the plugin's placeholder engine,
+      * which reuses values resolved for the same player in the current tick
+      * 
+      * @param player Player for placeholder context
+      * @param text Text with placeholders
+      * @return Text with resolved placeholders
+      */
+     static String setPlaceholders(Player player, String text) {
+         OriginChat plugin = OriginChat.getInstance();
+         PlaceholderEngine engine = plugin != null ? plugin.getPlaceholderEngine() : null;
+         return engine != null ? engine.setPlaceholders(player, text) : PlaceholderAPI.setPlaceholders(player, text);
+     }
+
+     /**
+      * Clears the cache of parsed constant text
+      */
+     public static void clearCache() {
+         COMPONENT_CACHE.clear();
+         LEGACY_CACHE.clear();
+     }
+
+     /**
+      * Checks whether configured text formats the same for every player and every tick
+      * 
+      * @param text Text before any placeholders are replaced
+      * @return true if the text has no PlaceholderAPI placeholders, animations or {slots}
+      */
+     public static boolean isConstant(String text) {
+         return text != null && text.indexOf('{') < 0 && (text.indexOf('%') < 0 || !isPlaceholderAPIEnabled());
+     }
+
+     /**
+      * Formats constant configured text with colors, parsing it only once.
+      * Only for text that passed {@link #isConstant(String)}; chat messages and text with
+      * substituted values must not be cached, unique lines would push the constant ones out.
+      * 
+      * @param text Constant text
+      * @return Formatted Component
+      */
+     public static Component formatCached(String text) {
+         Component cached = COMPONENT_CACHE.get(text);
+         if (cached == null) {
+             cached = parse(text, true);
+             cacheValue(COMPONENT_CACHE, text, cached);
+         }
+         return cached;
+     }
+
+     /**
+      * Legacy string of constant configured text, see {@link #formatCached(String)}
+      * 
+      * @param text Constant text
+      * @return Formatted legacy string with colors
+      */
+     public static String formatLegacyCached(String text) {
+         String cached = LEGACY_CACHE.get(text);
+         if (cached == null) {
+             cached = LEGACY_SERIALIZER.serialize(formatCached(text));
+             cacheValue(LEGACY_CACHE, text, cached);
+         }
+         return cached;
+     }
+
+     private static <V> void cacheValue(Map<String, V> cache, String text, V value) {
+         if (cache.size() >= CACHE_SIZE) {
+             // Constant text comes back right after the reset
+             cache.clear();
+         }
+         cache.put(text, value);
+     }
+
      /**
       * Strips all color formatting from text (legacy codes, hex, MiniMessage)
       * 
@@ -95,21 +160,8 @@
              return text;
          }
          
-         String result = text;
-         
-         // Remove legacy color codes (&c, §c, etc.)
-         result = LEGACY_COLOR_PATTERN.matcher(result).replaceAll("");
-         
-         // Remove hex colors (&# format)
-         result = HEX_PATTERN.matcher(result).replaceAll("");
-         
-         // Remove hex colors (&x format)
-         result = HEX_X_PATTERN.matcher(result).replaceAll("");
-         
-         // Remove MiniMessage color tags
-         result = MINIMESSAGE_COLOR_PATTERN.matcher(result).replaceAll("");
-         
-         return result;
+         // Legacy codes, &# and &x hex colors and MiniMessage color tags in one pass
+         return FormatLexer.strip(text);
      }
 
      /**
@@ -126,7 +178,8 @@
      }
 
      /**
-      * Main formatting function - converts legacy codes to MiniMessage, then parses to Component
+      * Main formatting function - converts legacy codes to MiniMessage, then parses to Component.
+      * Placeholders and animations are resolved in the server context, without a player.
       * 
       * @param text Text to format
       * @param enableColors Enable color parsing (legacy codes, hex, MiniMessage)
@@ -135,21 +188,35 @@
       * @return Formatted Component
       */
      public static Component format(String text, boolean enableColors, boolean enablePlaceholders, boolean enableAnimations) {
+         return format(RenderContext.server(), text, enableColors, enablePlaceholders, enableAnimations);
+     }
+
+     /**
+      * Format for a render context. Server and locale contexts resolve only server-scoped
+      * placeholders, so the result can be shared by all recipients of the context.
+      * 
+      * @param context Render context
+      * @param text Text to format
+      * @param enableColors Enable color parsing
+      * @param enablePlaceholders Enable PlaceholderAPI processing
+      * @param enableAnimations Enable animation processing
+      * @return Formatted Component
+      */
+     public static Component format(RenderContext context, String text, boolean enableColors, boolean enablePlaceholders, boolean enableAnimations) {
+         if (context.getPlayer() != null) {
+             return format(context.getPlayer(), text, enableColors, enablePlaceholders, enableAnimations);
+         }
          if (text == null || text.isEmpty()) {
              return Component.empty();
          }
 
          String processed = text;
 
-         // Process placeholders ONLY if enabled
+         // Process placeholders ONLY if enabled, only server-scoped placeholders resolve without a player
          if (enablePlaceholders) {
              if (isPlaceholderAPIEnabled() && processed.contains("%")) {
                  try {
-                     // Get any online player for placeholder processing
-                     Player anyPlayer = Bukkit.getOnlinePlayers().stream().findFirst().orElse(null);
-                     if (anyPlayer != null) {
-                         processed = PlaceholderAPI.setPlaceholders(anyPlayer, processed);
-                     }
+                     processed = setPlaceholders(null, processed);
                  } catch (Exception e) {
                      Bukkit.getLogger().warning("Error processing placeholders: " + e.getMessage());
                  }
@@ -162,9 +229,7 @@
                  try {
                      AnimationManager animationManager = OriginChat.getInstance().getAnimationManager();
                      if (animationManager != null) {
-                         // Get any online player for animation processing
-                         Player anyPlayer = Bukkit.getOnlinePlayers().stream().findFirst().orElse(null);
-                         processed = animationManager.processAnimations(processed, anyPlayer);
+                         processed = animationManager.processAnimations(processed, context.getLocale());
                      }
                  } catch (Exception e) {
                      Bukkit.getLogger().warning("Error processing animations: " + e.getMessage());
@@ -172,33 +237,7 @@
              }
          }
 
-         // Handle colors
-         if (!enableColors) {
-             // If colors are disabled, strip ALL color formatting and return plain text
-             processed = stripAllColors(processed);
-             return Component.text(processed);
-         }
-
-         // ВАЖНО: Преобразуем § символы в & перед обработкой MiniTranslator
-         // PlaceholderAPI и другие плагины могут возвращать текст с § символами
-         processed = processed.replace('§', '&');
-
-         // Step 1: Convert legacy codes to MiniMessage format using MiniTranslator
-         try {
-             String miniMessageText = toMini(processed);
-             
-             // Step 2: Parse MiniMessage format to Component
-             return MINI_MESSAGE.deserialize(miniMessageText);
-         } catch (Exception e) {
-             Bukkit.getLogger().warning("Error processing text formatting: " + e.getMessage());
-             // Fallback: try to parse as legacy component first, then convert to plain text if that fails
-             try {
-                 return LEGACY_SERIALIZER.deserialize(processed);
-             } catch (Exception legacyError) {
-                 // Ultimate fallback: strip colors and return plain text
-                 return Component.text(stripAllColors(processed));
-             }
-         }
+         return parse(processed, enableColors);
      }
 
      /**
@@ -222,7 +261,7 @@
          if (enablePlaceholders) {
              if (player != null && isPlaceholderAPIEnabled() && processed.contains("%")) {
                  try {
-                     processed = PlaceholderAPI.setPlaceholders(player, processed);
+                     processed = setPlaceholders(player, processed);
                  } catch (Exception e) {
                      Bukkit.getLogger().warning("Error processing placeholders: " + e.getMessage());
                  }
@@ -243,6 +282,17 @@
              }
          }
 
+         return parse(processed, enableColors);
+     }
+
+     /**
+      * Parses text after placeholders and animations were applied
+      * 
+      * @param processed Text to parse
+      * @param enableColors Enable color parsing
+      * @return Formatted Component
+      */
+     private static Component parse(String processed, boolean enableColors) {
          // Handle colors
          if (!enableColors) {
              // If colors are disabled, strip ALL color formatting and return plain text
@@ -250,6 +300,12 @@
              return Component.text(processed);
          }
 
+         // Legacy-only text is lexed straight into components, MiniMessage tags need the parser
+         Component lexed = FormatLexer.parse(processed);
+         if (lexed != null) {
+             return lexed;
+         }
+
          // ВАЖНО: Преобразуем § символы в & перед обработкой MiniTranslator
          // PlaceholderAPI и другие плагины могут возвращать текст с § символами
          processed = processed.replace('§', '&');
@@ -340,6 +396,16 @@
          return enableColors ? LEGACY_SERIALIZER.serialize(component) : PLAIN_SERIALIZER.serialize(component);
      }
 
+     /**
+      * Converts an already formatted Component to a colored legacy string
+      * 
+      * @param component Component to serialize
+      * @return Legacy string with colors
+      */
+     public static String toLegacy(Component component) {
+         return component == null ? "" : LEGACY_SERIALIZER.serialize(component);
+     }
+
      // Convenience methods for legacy formatting
 
      /**
@@ -378,181 +444,291 @@
      }
 
      // MiniTranslator implementation methods
-     
+
+     private static final int COLOR = 1 << MiniTranslatorOption.COLOR.ordinal();
+     private static final int FORMAT = 1 << MiniTranslatorOption.FORMAT.ordinal();
+     private static final int GRADIENT = 1 << MiniTranslatorOption.GRADIENT.ordinal();
+     private static final int END_TAGS = 1 << MiniTranslatorOption.END_TAGS.ordinal();
+     private static final int ALL_OPTIONS = COLOR | FORMAT | GRADIENT | END_TAGS;
+
+     // Tag ids: legacy colors 0-15, then the tags below; end tags close by id
+     private static final String[] TAG_NAMES = {
+             "black", "dark_blue", "dark_green", "dark_aqua", "dark_red", "dark_purple", "gold", "gray",
+             "dark_gray", "blue", "green", "aqua", "red", "light_purple", "yellow", "white",
+             "color", "gradient", "reset", "obf", "b", "st", "u", "i"
+     };
+     private static final int COLOR_TAG = 16;
+     private static final int GRADIENT_TAG = 17;
+     private static final int RESET_TAG = 18;
+     // Named colors a gradient can use, the scan stops at '_' so the dark_ names never match
+     private static final String[] GRADIENT_COLORS = {"black", "gold", "gray", "blue", "green", "aqua", "red", "yellow", "white"};
+     // ASCII char -> tag id, and the option the tag needs
+     private static final byte[] TAG_BY_CHAR = new byte[128];
+     private static final byte[] OPTION_BY_CHAR = new byte[128];
+     private static final int MAX_BUFFER_CAPACITY = 8192;
+     private static final ThreadLocal<MiniBuffer> MINI_BUFFER = ThreadLocal.withInitial(MiniBuffer::new);
+
+     static {
+         Arrays.fill(TAG_BY_CHAR, (byte) -1);
+         for (int i = 0; i < 16; i++) {
+             registerTag("0123456789abcdef".charAt(i), i, COLOR);
+         }
+         registerTag('#', COLOR_TAG, COLOR);
+         registerTag('x', COLOR_TAG, COLOR);
+         registerTag('@', GRADIENT_TAG, GRADIENT);
+         registerTag('r', RESET_TAG, FORMAT);
+         registerTag('k', 19, FORMAT);
+         registerTag('l', 20, FORMAT);
+         registerTag('m', 21, FORMAT);
+         registerTag('n', 22, FORMAT);
+         registerTag('o', 23, FORMAT);
+     }
+
+     private static void registerTag(char ch, int tag, int option) {
+         TAG_BY_CHAR[ch] = (byte) tag;
+         OPTION_BY_CHAR[ch] = (byte) option;
+     }
+
      public static String toMini(String text) {
          return toMini(text, ALL_OPTIONS);
      }
 
      public static String toMini(String text, MiniTranslatorOption... options) {
-         return toMini(text, EnumSet.copyOf(List.of(options)));
+         return toMini(text, optionsMask(Arrays.asList(options)));
      }
 
      public static String toMini(String text, Collection<MiniTranslatorOption> options) {
-         List<String> closeOrder = new ArrayList<>();
-         StringBuilder builder = new StringBuilder();
-         for (int index = 0; index < text.length(); index++) {
+         return toMini(text, optionsMask(options));
+     }
+
+     private static String toMini(String text, int options) {
+         MiniBuffer buffer = MINI_BUFFER.get();
+         StringBuilder builder = buffer.builder;
+         builder.setLength(0);
+         buffer.depth = 0;
+         int length = text.length();
+         for (int index = 0; index < length; index++) {
              char ch = text.charAt(index);
              if (ch != '&' && ch != '§') {
                  builder.append(ch);
-             } else  {
-                 if (text.length() == ++index) {
-                     builder.append(ch);
-                     break;
+                 continue;
+             }
+             if (length == ++index) {
+                 builder.append(ch);
+                 break;
+             }
+             char nextCh = text.charAt(index);
+             if (nextCh == '/') {
+                 if ((options & END_TAGS) == 0 || length == ++index) {
+                     builder.append(ch).append('/');
+                     continue;
                  }
-                 char nextCh = text.charAt(index);
-                 if (nextCh == '/') {
-                     if (!options.contains(MiniTranslatorOption.END_TAGS) || text.length() == ++index) {
-                         builder.append(ch).append("/");
-                         continue;
-                     }
-                     nextCh = text.charAt(index);
-                     if (nextCh == 'r' && options.contains(MiniTranslatorOption.FORMAT)) {
-                         continue;
-                     }
-                     String tag = tagByChar(nextCh, options);
-                     if (tag == null || handleClosing(tag, closeOrder)) {
-                         builder.append(ch).append("/").append(nextCh);
-                         continue;
+                 nextCh = text.charAt(index);
+                 if (nextCh == 'r' && (options & FORMAT) != 0) {
+                     continue;
+                 }
+                 int tag = tagId(nextCh, options);
+                 if (tag < 0 || !buffer.close(tag)) {
+                     builder.append(ch).append('/').append(nextCh);
+                     continue;
+                 }
+                 builder.append("</").append(TAG_NAMES[tag]).append('>');
+                 continue;
+             }
+             int tag = tagId(nextCh, options);
+             if (tag < 0) {
+                 builder.append(ch).append(nextCh);
+             } else if (tag == COLOR_TAG) {
+                 if (nextCh == '#' && length > index + 6 && isLowerHex(text, index + 1, 1)) {
+                     builder.append("<color:#").append(text, index + 1, index + 7).append('>');
+                     index += 6;
+                     buffer.push(tag);
+                 } else if (nextCh == 'x' && length > index + 12 && isLegacyHex(text, index + 1)) {
+                     builder.append("<color:#");
+                     for (int i = index + 2; i <= index + 12; i += 2) {
+                         builder.append(text.charAt(i));
                      }
-                     builder.append("</").append(tag).append('>');
+                     builder.append('>');
+                     index += 12;
+                     buffer.push(tag);
                  } else {
-                     String tag = tagByChar(nextCh, options);
-                     if (tag == null) {
-                         builder.append(ch).append(nextCh);
-                         continue;
-                     }
-                     switch (tag) {
-                         case "color" -> {
-                             if (nextCh == '#') {
-                                 if (text.length() > index + 6) {
-                                     String color = text.substring(index + 1, index + 7);
-                                     if (HEX_COLOR.matcher(color).matches()) {
-                                         builder.append("<color:#").append(color).append('>');
-                                         index += 6;
-                                         closeOrder.add(tag);
-                                         continue;
-                                     }
-                                 }
-                             } else if (nextCh == 'x') {
-                                 if (text.length() > index + 12) {
-                                     String color = text.substring(index + 1, index + 13);
-                                     Matcher colorMatcher = LEGACY_HEX_COLOR.matcher(color);
-                                     if (colorMatcher.matches()) {
-                                         builder.append("<color:").append(colorMatcher.replaceAll("#$1$2$3$4$5$6")).append('>');
-                                         index += 12;
-                                         closeOrder.add(tag);
-                                         continue;
-                                     }
-                                 }
-                             }
-                             builder.append(ch).append(nextCh);
-                         }
-                         case "gradient" -> {
-                             int endIndex = -1;
-                             for (int inner = index + 1; inner < text.length(); inner++) {
-                                 char inCh = text.charAt(inner);
-                                 if (inCh == '&' || inCh == '§') {
-                                     endIndex = inner;
-                                     break;
-                                 } else if (!(('a' <= inCh && inCh <= 'z') || ('0' <= inCh && inCh <= '9') || inCh == '#' || inCh == '-')) {
-                                     break;
-                                 }
-                             }
-                             String[] split;
-                             if (endIndex == -1 || (split = text.substring(index + 1, endIndex).split("-")).length == 1) {
-                                 builder.append(ch).append("@");
-                                 continue;
-                             }
-                             List<String> colors = new ArrayList<>(split.length);
-                             for (String color : split) {
-                                 if (color.length() == 1) {
-                                     color = colorByChar(color.charAt(0));
-                                     if (color == null) break;
-                                 } else if (color.startsWith("#")) {
-                                     if (!HEX_COLOR.matcher(color.substring(1)).matches()) {
-                                         break;
-                                     }
-                                 } else if (NamedTextColor.NAMES.value(color) == null) {
-                                     break;
-                                 }
-                                 colors.add(color);
-                             }
-                             if (colors.size() == split.length) {
-                                 index = endIndex;
-                                 builder.append("<gradient:").append(String.join(":", colors)).append('>');
-                                 closeOrder.add(tag);
-                             }
-                         }
-                         case "reset" -> {
-                             closeOrder.clear();
-                             builder.append("<reset>");
-                         }
-                         default -> {
-                             closeOrder.add(tag);
-                             builder.append('<').append(tag).append('>');
-                         }
-                     }
+                     builder.append(ch).append(nextCh);
                  }
+             } else if (tag == GRADIENT_TAG) {
+                 index = appendGradient(text, index, ch, builder, buffer);
+             } else if (tag == RESET_TAG) {
+                 buffer.depth = 0;
+                 builder.append("<reset>");
+             } else {
+                 buffer.push(tag);
+                 builder.append('<').append(TAG_NAMES[tag]).append('>');
              }
          }
-         return builder.toString();
+         String result = builder.toString();
+         if (builder.capacity() > MAX_BUFFER_CAPACITY) {
+             // Don't keep a huge buffer alive per thread after one long text
+             buffer.builder = new StringBuilder(256);
+         }
+         return result;
      }
 
-     private static boolean handleClosing(String tag, List<String> order) {
-         int index = order.lastIndexOf(tag);
-         if (index == -1) {
-             return true;
+     /**
+      * Handles &@color-color&, splitting the colors the way String.split("-") does
+      *
+      * @return Index to continue from
+      */
+     private static int appendGradient(String text, int index, char ch, StringBuilder builder, MiniBuffer buffer) {
+         int start = index + 1;
+         int endIndex = -1;
+         for (int inner = start; inner < text.length(); inner++) {
+             char inCh = text.charAt(inner);
+             if (inCh == '&' || inCh == '§') {
+                 endIndex = inner;
+                 break;
+             } else if (!(('a' <= inCh && inCh <= 'z') || ('0' <= inCh && inCh <= '9') || inCh == '#' || inCh == '-')) {
+                 break;
+             }
+         }
+         // Trailing empty colors are dropped by split, a lone empty one is kept
+         int end = endIndex;
+         while (end > start && text.charAt(end - 1) == '-') {
+             end--;
+         }
+         int count = 0;
+         if (end > start) {
+             count = 1;
+             for (int i = start; i < end; i++) {
+                 if (text.charAt(i) == '-') {
+                     count++;
+                 }
+             }
+         }
+         if (endIndex == -1 || (endIndex == start ? 1 : count) == 1) {
+             builder.append(ch).append('@');
+             return index;
+         }
+         for (int from = start; from < end; ) {
+             int to = indexOf(text, '-', from, end);
+             if (!isGradientColor(text, from, to)) {
+                 // Invalid color: the code is dropped and the rest stays text
+                 return index;
+             }
+             from = to + 1;
+         }
+         builder.append("<gradient:");
+         for (int from = start; from < end; ) {
+             int to = indexOf(text, '-', from, end);
+             if (from > start) {
+                 builder.append(':');
+             }
+             if (to - from == 1) {
+                 builder.append(TAG_NAMES[TAG_BY_CHAR[text.charAt(from)]]);
+             } else {
+                 builder.append(text, from, to);
+             }
+             from = to + 1;
+         }
+         builder.append('>');
+         buffer.push(GRADIENT_TAG);
+         return endIndex;
+     }
+
+     private static boolean isGradientColor(String text, int from, int to) {
+         int length = to - from;
+         if (length == 1) {
+             char ch = text.charAt(from);
+             return ch < 128 && TAG_BY_CHAR[ch] >= 0 && TAG_BY_CHAR[ch] < 16;
+         }
+         if (length > 0 && text.charAt(from) == '#') {
+             return length == 7 && isLowerHex(text, from + 1, 1);
+         }
+         for (String name : GRADIENT_COLORS) {
+             if (name.length() == length && text.regionMatches(from, name, 0, length)) {
+                 return true;
+             }
          }
-         order.subList(index, order.size()).clear();
          return false;
      }
 
-     private static String colorByChar(char ch) {
-         return switch (ch) {
-             case '0' -> "black";
-             case '1' -> "dark_blue";
-             case '2' -> "dark_green";
-             case '3' -> "dark_aqua";
-             case '4' -> "dark_red";
-             case '5' -> "dark_purple";
-             case '6' -> "gold";
-             case '7' -> "gray";
-             case '8' -> "dark_gray";
-             case '9' -> "blue";
-             case 'a' -> "green";
-             case 'b' -> "aqua";
-             case 'c' -> "red";
-             case 'd' -> "light_purple";
-             case 'e' -> "yellow";
-             case 'f' -> "white";
-
-             default -> null;
-         };
+     private static int indexOf(String text, char ch, int from, int end) {
+         int index = text.indexOf(ch, from);
+         return index == -1 || index > end ? end : index;
+     }
+
+     /**
+      * Six lower case hex digits, every step chars
+      */
+     private static boolean isLowerHex(String text, int start, int step) {
+         for (int i = 0; i < 6; i++) {
+             char ch = text.charAt(start + i * step);
+             if (!(('0' <= ch && ch <= '9') || ('a' <= ch && ch <= 'f'))) {
+                 return false;
+             }
+         }
+         return true;
+     }
+
+     /**
+      * &r&r&g&g&b&b after &x, only '&' is accepted as the prefix
+      */
+     private static boolean isLegacyHex(String text, int start) {
+         for (int i = start; i < start + 12; i += 2) {
+             if (text.charAt(i) != '&') {
+                 return false;
+             }
+         }
+         return isLowerHex(text, start + 1, 2);
+     }
+
+     private static int tagId(char ch, int options) {
+         if (ch >= 128 || (options & OPTION_BY_CHAR[ch]) == 0) {
+             return -1;
+         }
+         return TAG_BY_CHAR[ch];
+     }
+
+     private static int optionsMask(Collection<MiniTranslatorOption> options) {
+         int mask = 0;
+         for (MiniTranslatorOption option : options) {
+             mask |= 1 << option.ordinal();
+         }
+         return mask;
      }
 
      public static String tagByChar(char ch, Collection<MiniTranslatorOption> options) {
-         if (('0' <= ch && ch <= '9') || ('a' <= ch && ch <= 'f') || ch == '#' || ch == 'x') {
-             if (!options.contains(MiniTranslatorOption.COLOR)) return null;
-             return switch (ch) {
-                 case 'x', '#' -> "color";
-                 default -> colorByChar(ch);
-             };
-         } else if (('k' <= ch && ch <= 'o') || ch == 'r') {
-             if (!options.contains(MiniTranslatorOption.FORMAT)) return null;
-             return switch (ch) {
-                 case 'r' -> "reset";
-                 case 'l' -> "b";
-                 case 'n' -> "u";
-                 case 'm' -> "st";
-                 case 'o' -> "i";
-                 case 'k' -> "obf";
-
-                 default -> null;
-             };
-         } else if (ch == '@' && options.contains(MiniTranslatorOption.GRADIENT)) {
-             return "gradient";
-         }
-         return null;
+         int tag = tagId(ch, optionsMask(options));
+         return tag < 0 ? null : TAG_NAMES[tag];
+     }
+
+     /**
+      * Per-thread toMini state: output builder and the stack of open tag ids
+      */
+     private static final class MiniBuffer {
+         private StringBuilder builder = new StringBuilder(256);
+         private int[] stack = new int[16];
+         private int depth;
+
+         private void push(int tag) {
+             if (depth == stack.length) {
+                 stack = Arrays.copyOf(stack, depth * 2);
+             }
+             stack[depth++] = tag;
+         }
+
+         /**
+          * Closes the last open tag with this id and every tag opened after it
+          *
+          * @return false if the tag is not open
+          */
+         private boolean close(int tag) {
+             for (int i = depth - 1; i >= 0; i--) {
+                 if (stack[i] == tag) {
+                     depth = i;
+                     return true;
+                 }
+             }
+             return false;
+         }
      }
 
      public enum MiniTranslatorOption {
@@ -0,0 +1,202 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.utils;
+
+import me.clip.placeholderapi.PlaceholderAPI;
+import me.nagibatirowanie.originchat.OriginChat;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PlaceholderAPI front end for the formatting paths.
+ * Every template is scanned for %tokens% once, and every token is resolved at most
+ * once per player per tick, or once per its configured TTL. Tab, scoreboard and chat
+ * rendering the same placeholder in one tick share a single PlaceholderAPI call.
+ */
+public class PlaceholderEngine implements Listener {
+
+    private static final int MAX_TEMPLATES = 1024;
+    // Tokens remembered per player, chat text can bring any number of distinct ones
+    private static final int MAX_VALUES = 256;
+    private static final long SWEEP_INTERVAL_TICKS = 1200L;
+    // Memo key of values resolved without a player
+    private static final UUID SERVER_SCOPE = new UUID(0L, 0L);
+
+    private final OriginChat plugin;
+    // Template -> literal text and tokens, alternating, literal first
+    private final Map<String, String[]> templates = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<String, Resolved>> resolved = new ConcurrentHashMap<>();
+    private volatile int defaultTtl = 1;
+    private volatile Map<String, Integer> ttls = Collections.emptyMap();
+    private final BukkitTask sweepTask;
+
+    public PlaceholderEngine(OriginChat plugin) {
+        this.plugin = plugin;
+        reload();
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        sweepTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::sweep, SWEEP_INTERVAL_TICKS, SWEEP_INTERVAL_TICKS);
+    }
+
+    /**
+     * Re-reads placeholder TTLs and forgets resolved values
+     */
+    public void reload() {
+        FileConfiguration config = plugin.getConfigManager().getMainConfig();
+        defaultTtl = config != null ? Math.max(1, config.getInt("placeholders.default-ttl-ticks", 1)) : 1;
+        Map<String, Integer> loaded = new HashMap<>();
+        ConfigurationSection section = config != null ? config.getConfigurationSection("placeholders.ttl-ticks") : null;
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                loaded.put('%' + key + '%', Math.max(1, section.getInt(key)));
+            }
+        }
+        ttls = loaded;
+        templates.clear();
+        resolved.clear();
+    }
+
+    /**
+     * Replaces PlaceholderAPI placeholders in a text
+     *
+     * @param player Player for placeholder context, null for server-scoped placeholders
+     * @param text Text with %placeholders%
+     * @return Text with resolved placeholders
+     */
+    public String setPlaceholders(Player player, String text) {
+        String[] parts = scan(text);
+        if (parts.length == 1) {
+            return text;
+        }
+        Map<String, Resolved> values = resolved.computeIfAbsent(player != null ? player.getUniqueId() : SERVER_SCOPE, key -> new ConcurrentHashMap<>());
+        int tick = Bukkit.getCurrentTick();
+        StringBuilder builder = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < parts.length; i++) {
+            builder.append((i & 1) == 0 ? parts[i] : resolve(player, values, parts[i], tick));
+        }
+        return builder.toString();
+    }
+
+    private String resolve(Player player, Map<String, Resolved> values, String token, int tick) {
+        Resolved cached = values.get(token);
+        if (cached != null && tick < cached.expiresAt) {
+            return cached.value;
+        }
+        String value = PlaceholderAPI.setPlaceholders(player, token);
+        if (cached == null && values.size() >= MAX_VALUES) {
+            // Same reset as the template scan, tokens of constant templates come back next tick
+            values.clear();
+        }
+        values.put(token, new Resolved(value, tick + ttls.getOrDefault(token, defaultTtl)));
+        return value;
+    }
+
+    /**
+     * Drops expired values, so tokens that were used once don't stay for the whole session
+     */
+    private void sweep() {
+        int tick = Bukkit.getCurrentTick();
+        for (Map<String, Resolved> values : resolved.values()) {
+            values.values().removeIf(cached -> tick >= cached.expiresAt);
+        }
+    }
+
+    /**
+     * Splits a template into literal text and %token% parts the way PlaceholderAPI matches them
+     */
+    private String[] scan(String text) {
+        String[] parts = templates.get(text);
+        if (parts != null) {
+            return parts;
+        }
+        List<String> found = new ArrayList<>();
+        int literalStart = 0;
+        int start = text.indexOf('%');
+        while (start >= 0) {
+            int end = text.indexOf('%', start + 1);
+            if (end < 0) {
+                break;
+            }
+            if (end == start + 1) {
+                // "%%" is not a placeholder, the second '%' may open one
+                start = end;
+                continue;
+            }
+            found.add(text.substring(literalStart, start));
+            found.add(text.substring(start, end + 1));
+            literalStart = end + 1;
+            start = text.indexOf('%', literalStart);
+        }
+        if (found.isEmpty()) {
+            parts = new String[]{text};
+        } else {
+            found.add(text.substring(literalStart));
+            parts = found.toArray(new String[0]);
+        }
+        if (templates.size() >= MAX_TEMPLATES) {
+            // Chat lines are unique, constant templates come back right after the reset
+            templates.clear();
+        }
+        templates.put(text, parts);
+        return parts;
+    }
+
+    /**
+     * Unregisters the listener and forgets resolved values
+     */
+    public void close() {
+        HandlerList.unregisterAll(this);
+        sweepTask.cancel();
+        templates.clear();
+        resolved.clear();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        resolved.remove(event.getPlayer().getUniqueId());
+    }
+
+    private static final class Resolved {
+        private final String value;
+        private final int expiresAt;
+
+        private Resolved(String value, int expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
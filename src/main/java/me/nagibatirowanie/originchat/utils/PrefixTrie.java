@@ -0,0 +1,117 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.utils;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable longest-prefix-match trie.
+ * Lookup costs O(length of the matched prefix) and does not depend on the number of entries.
+ *
+ * @param <V> Type of the values
+ */
+public final class PrefixTrie<V> {
+
+    private final Node<V> root;
+
+    private PrefixTrie(Node<V> root) {
+        this.root = root;
+    }
+
+    /**
+     * Builds a trie from prefixes, an empty prefix matches any text
+     *
+     * @param entries Prefixes mapped to their values
+     * @param <V> Type of the values
+     * @return Immutable trie
+     */
+    public static <V> PrefixTrie<V> of(Map<String, V> entries) {
+        MutableNode<V> root = new MutableNode<>();
+        for (Map.Entry<String, V> entry : entries.entrySet()) {
+            MutableNode<V> node = root;
+            String prefix = entry.getKey();
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), key -> new MutableNode<>());
+            }
+            node.value = entry.getValue();
+        }
+        return new PrefixTrie<>(root.freeze());
+    }
+
+    /**
+     * Finds the value of the longest prefix of the text
+     *
+     * @param text Text to match
+     * @return Value of the longest matching prefix, or null if nothing matches
+     */
+    public V match(String text) {
+        Node<V> node = root;
+        V result = node.value;
+        for (int i = 0; i < text.length(); i++) {
+            node = node.child(text.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                result = node.value;
+            }
+        }
+        return result;
+    }
+
+    private static final class Node<V> {
+        private final char[] keys;
+        private final Node<V>[] children;
+        private final V value;
+
+        private Node(char[] keys, Node<V>[] children, V value) {
+            this.keys = keys;
+            this.children = children;
+            this.value = value;
+        }
+
+        private Node<V> child(char ch) {
+            int index = Arrays.binarySearch(keys, ch);
+            return index < 0 ? null : children[index];
+        }
+    }
+
+    private static final class MutableNode<V> {
+        private final TreeMap<Character, MutableNode<V>> children = new TreeMap<>();
+        private V value;
+
+        @SuppressWarnings("unchecked")
+        private Node<V> freeze() {
+            char[] keys = new char[children.size()];
+            Node<V>[] frozen = new Node[children.size()];
+            int index = 0;
+            for (Map.Entry<Character, MutableNode<V>> entry : children.entrySet()) {
+                keys[index] = entry.getKey();
+                frozen[index] = entry.getValue().freeze();
+                index++;
+            }
+            return new Node<>(keys, frozen, value);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.utils;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Who a text is rendered for.
+ * A player context resolves placeholders and animations for that player; server and locale
+ * contexts resolve only server-scoped placeholders, so one rendered component can be shared
+ * by every recipient (of that locale).
+ */
+public final class RenderContext {
+
+    private static final RenderContext SERVER = new RenderContext(null, null);
+
+    private final Player player;
+    private final String locale;
+
+    private RenderContext(Player player, String locale) {
+        this.player = player;
+        this.locale = locale;
+    }
+
+    /**
+     * @return Context without a player, animations use their default frames
+     */
+    public static RenderContext server() {
+        return SERVER;
+    }
+
+    /**
+     * @param player Player the text is rendered for, null means the server context
+     * @return Player context
+     */
+    public static RenderContext player(Player player) {
+        return player == null ? SERVER : new RenderContext(player, null);
+    }
+
+    /**
+     * @param locale Locale whose animation frames are used, null means the server context
+     * @return Context shared by all players of the locale
+     */
+    public static RenderContext locale(String locale) {
+        return locale == null ? SERVER : new RenderContext(null, locale);
+    }
+
+    /**
+     * @return Player of the context, null for server and locale contexts
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * @return Locale of the context, null unless created with {@link #locale(String)}
+     */
+    public String getLocale() {
+        return locale;
+    }
+}
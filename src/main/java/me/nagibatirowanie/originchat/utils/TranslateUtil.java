@@ -23,24 +23,41 @@ package me.nagibatirowanie.originchat.utils;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.net.URLConnection;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import me.nagibatirowanie.originchat.OriginChat;
-import static org.apache.commons.lang3.StringEscapeUtils.unescapeHtml4;
+import me.nagibatirowanie.originchat.translate.TranslationBatcher;
+import me.nagibatirowanie.originchat.translate.TranslationCache;
+import me.nagibatirowanie.originchat.translate.TranslationExecutor;
+import me.nagibatirowanie.originchat.translate.TranslationMemory;
+import me.nagibatirowanie.originchat.translate.backend.TranslationBackend;
+import me.nagibatirowanie.originchat.translate.backend.TranslationBackends;
 
 /**
- * Utility class for text translation using Google Translate API
+ * Utility class for text translation through the configured translation backend
  */
 public class TranslateUtil {
     
-    private static final Pattern TRANSLATION_PATTERN = Pattern.compile("class=\"result-container\">([^<]*)<\\/div>", Pattern.MULTILINE);
     private static final OriginChat plugin = OriginChat.getInstance();
+    // Requests currently sent to the translator, concurrent callers with the same key wait for them
+    private static final Map<String, CompletableFuture<String>> IN_FLIGHT = new ConcurrentHashMap<>();
+    private static final LongAdder COALESCED = new LongAdder();
+    private static volatile TranslationBackend backend;
+    private static volatile TranslationBatcher batcher;
     
     /**
      * Normalizes language code for use with Google Translate
@@ -72,7 +89,7 @@ public class TranslateUtil {
     }
 
     /**
-     * Translates text to the specified language
+     * Translates text to the specified language, served from the translation cache when possible
      *
      * @param text    Source text to translate
      * @param toLang  Target language (language code, e.g., "en", "ru", "uk", "uk-UA")
@@ -83,38 +100,180 @@ public class TranslateUtil {
         if (text == null || text.trim().isEmpty()) {
             return "";
         }
+        String normalizedText = TranslationCache.normalize(text);
         String normalizedLang = normalizeLanguageCode(toLang);
-        StringBuilder response = new StringBuilder();
-        String encodedText = URLEncoder.encode(text.trim(), StandardCharsets.UTF_8);
-        URL url = new URL(String.format("https://translate.google.com/m?hl=en&sl=auto&tl=%s&ie=UTF-8&prev=_m&q=%s", 
-                normalizedLang, encodedText));
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                response.append(line).append("\n");
+        String cached = getCached(normalizedText, normalizedLang);
+        if (cached != null) {
+            return cached;
+        }
+
+        String key = normalizedLang + '\n' + normalizedText;
+        CompletableFuture<String> flight = new CompletableFuture<>();
+        CompletableFuture<String> existing = IN_FLIGHT.putIfAbsent(key, flight);
+        if (existing != null) {
+            COALESCED.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                throw cause instanceof IOException ? (IOException) cause : new IOException(cause.getMessage(), cause);
             }
-        } catch (IOException e) {
-            String errorMsg = String.format("Error accessing translation service. Language: %s, Text: '%s', URL: %s, Message: %s", 
-                    normalizedLang, text, url, e.getMessage());
-            plugin.getLogger().warning(errorMsg);
-            throw new IOException(errorMsg, e);
-        } catch (Exception e) {
-            String errorMsg = String.format("Unknown error during translation. Language: %s, Text: '%s', URL: %s, Message: %s", 
-                    normalizedLang, text, url, e.getMessage());
-            plugin.getLogger().warning(errorMsg);
-            throw new IOException(errorMsg, e);
-        }
-        Matcher matcher = TRANSLATION_PATTERN.matcher(response);
-        if (matcher.find()) {
-            String match = matcher.group(1);
-            if (match != null && !match.isEmpty()) {
-                return unescapeHtml4(match);
+        }
+        return runFlight(key, flight, normalizedText, normalizedLang);
+    }
+
+    /**
+     * Gets a translation from the cache
+     *
+     * @param normalizedText  Normalized source text
+     * @param normalizedLang  Normalized target language
+     * @return                Cached translation or null
+     */
+    private static String getCached(String normalizedText, String normalizedLang) {
+        TranslationCache cache = plugin.getTranslationCache();
+        String cached = cache == null ? null : cache.get(normalizedText, normalizedLang);
+        if (cached != null) {
+            recordUse(normalizedText, normalizedLang, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Stores a served translation in the cache and counts its use in the translation memory
+     *
+     * @param normalizedText  Normalized source text
+     * @param normalizedLang  Normalized target language
+     * @param translated      Translated text
+     */
+    private static void remember(String normalizedText, String normalizedLang, String translated) {
+        TranslationCache cache = plugin.getTranslationCache();
+        if (cache != null) {
+            cache.put(normalizedText, normalizedLang, translated);
+        }
+        recordUse(normalizedText, normalizedLang, translated);
+    }
+
+    private static void recordUse(String normalizedText, String normalizedLang, String translated) {
+        TranslationMemory memory = plugin.getTranslationMemory();
+        if (memory != null) {
+            memory.record(normalizedText, normalizedLang, translated);
+        }
+    }
+
+    /**
+     * Requests a translation for an in-flight entry and hands the result to every waiter
+     *
+     * @param key             In-flight key
+     * @param flight          Future shared by the waiters
+     * @param normalizedText  Normalized source text
+     * @param normalizedLang  Normalized target language
+     * @return                Translated text
+     * @throws IOException in case of network or translation error
+     */
+    private static String runFlight(String key, CompletableFuture<String> flight,
+                                    String normalizedText, String normalizedLang) throws IOException {
+        try {
+            TranslationMemory memory = plugin.getTranslationMemory();
+            String translated = memory != null ? memory.lookup(normalizedText, normalizedLang) : null;
+            if (translated == null) {
+                translated = fetchTranslation(normalizedText, normalizedLang);
             }
+            remember(normalizedText, normalizedLang, translated);
+            flight.complete(translated);
+            return translated;
+        } catch (IOException | RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            // The cache is filled first, so callers arriving after removal hit it
+            IN_FLIGHT.remove(key, flight);
+        }
+    }
+
+    /**
+     * @return Number of translation requests that were served by an identical request already in flight
+     */
+    public static long getCoalescedRequests() {
+        return COALESCED.sum();
+    }
+
+    /**
+     * Opens a URL with the connect and read timeouts of the translation executor
+     *
+     * @param url URL to open
+     * @return Response stream
+     * @throws IOException in case of network error
+     */
+    private static InputStream openStream(URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        TranslationExecutor executor = plugin.getTranslationExecutor();
+        if (executor != null) {
+            connection.setConnectTimeout(executor.getConnectTimeout());
+            connection.setReadTimeout(executor.getReadTimeout());
+        }
+        return connection.getInputStream();
+    }
+
+    /**
+     * Requests a translation from the configured backend
+     *
+     * @param text            Normalized source text
+     * @param normalizedLang  Normalized target language
+     * @return                Translated text
+     * @throws IOException in case of network or translation error
+     */
+    private static String fetchTranslation(String text, String normalizedLang) throws IOException {
+        TranslationBackend current = backend;
+        if (current == null) {
+            throw new IOException("Translation backend is not initialized");
+        }
+        return current.translate(text, normalizedLang);
+    }
+
+    /**
+     * Creates the backend selected in the config.
+     * The previous one is closed once its queued and running requests have finished.
+     */
+    public static void reloadBackend() {
+        TranslationBackend previous = backend;
+        TranslationBatcher previousBatcher = batcher;
+        backend = TranslationBackends.create(plugin);
+        batcher = new TranslationBatcher(plugin, backend);
+        plugin.getPluginLogger().debug("[TranslateUtil] Using translation backend " + backend.getName());
+        if (previous == null) {
+            return;
+        }
+        CompletableFuture<Void> drained = previousBatcher != null
+                ? previousBatcher.drain()
+                : CompletableFuture.completedFuture(null);
+        drained.whenComplete((ignored, error) -> previous.close());
+    }
+
+    /**
+     * Closes the translation backend
+     */
+    public static void closeBackend() {
+        TranslationBackend previous = backend;
+        backend = null;
+        batcher = null;
+        if (previous != null) {
+            previous.close();
         }
-        String errorMsg = String.format("Failed to perform translation. Language: %s, Text: '%s', URL: %s", 
-                normalizedLang, text, url);
-        plugin.getLogger().warning(errorMsg);
-        throw new IOException(errorMsg);
+    }
+
+    /**
+     * @return Batcher of the active translation backend, null before the backend is loaded
+     */
+    public static TranslationBatcher getBatcher() {
+        return batcher;
+    }
+
+    /**
+     * @return Name of the active translation backend
+     */
+    public static String getBackendName() {
+        TranslationBackend current = backend;
+        return current == null ? "none" : current.getName();
     }
 
     /**
@@ -125,21 +284,73 @@ public class TranslateUtil {
      * @return        CompletableFuture with translation result
      */
     public static CompletableFuture<String> translateAsync(String text, String toLang) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                return translate(text, toLang);
-            } catch (IOException e) {
+        if (text == null || text.trim().isEmpty()) {
+            return CompletableFuture.completedFuture("");
+        }
+        String normalizedText = TranslationCache.normalize(text);
+        String normalizedLang = normalizeLanguageCode(toLang);
+        String cached = getCached(normalizedText, normalizedLang);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        TranslationExecutor executor = plugin.getTranslationExecutor();
+        String key = normalizedLang + '\n' + normalizedText;
+        CompletableFuture<String> flight = new CompletableFuture<>();
+        CompletableFuture<String> existing = IN_FLIGHT.putIfAbsent(key, flight);
+        if (existing != null) {
+            COALESCED.increment();
+            // Copy so a waiter cannot complete or cancel the shared future
+            return executor.withDeadline(existing.copy(), text);
+        }
+        TranslationMemory memory = plugin.getTranslationMemory();
+        CompletableFuture<String> request;
+        if (memory != null && memory.isAvailable()) {
+            // The translation memory is checked before going to the backend
+            request = memory.lookupAsync(normalizedText, normalizedLang)
+                    .thenCompose(stored -> stored != null
+                            ? CompletableFuture.completedFuture(stored)
+                            : sendToBackend(normalizedText, normalizedLang));
+        } else {
+            request = sendToBackend(normalizedText, normalizedLang);
+        }
+        request.whenComplete((translated, error) -> {
+            if (error == null) {
+                remember(normalizedText, normalizedLang, translated);
+                flight.complete(translated);
+            } else {
                 String errorMsg = String.format("Translation error to language %s. Text: '%s'. Reason: %s", 
-                        toLang, text, e.getMessage());
-                plugin.getLogger().warning(errorMsg);
-                throw new RuntimeException(errorMsg, e);
-            } catch (Exception e) {
-                String errorMsg = String.format("Unknown translation error to language %s. Text: '%s'. Reason: %s", 
-                        toLang, text, e.getMessage());
+                        toLang, text, error.getMessage());
                 plugin.getLogger().warning(errorMsg);
-                throw new RuntimeException(errorMsg, e);
+                flight.completeExceptionally(error);
             }
+            IN_FLIGHT.remove(key, flight);
         });
+        return executor.withDeadline(flight.copy(), text);
+    }
+
+    private static CompletableFuture<String> sendToBackend(String normalizedText, String normalizedLang) {
+        TranslationBatcher currentBatcher = batcher;
+        return currentBatcher != null
+                ? currentBatcher.translate(normalizedText, normalizedLang)
+                : CompletableFuture.failedFuture(new IOException("Translation backend is not initialized"));
+    }
+
+    /**
+     * Asynchronously translates one text to several languages.
+     * Locales sharing a normalized language share one future.
+     *
+     * @param text         Source text to translate
+     * @param targetLangs  Target languages (language codes, e.g., "en", "uk_UA")
+     * @return             Futures of the translations by the given language codes
+     */
+    public static Map<String, CompletableFuture<String>> translateAsync(String text, Collection<String> targetLangs) {
+        Map<String, CompletableFuture<String>> byNormalizedLang = new HashMap<>();
+        Map<String, CompletableFuture<String>> result = new HashMap<>();
+        for (String lang : targetLangs) {
+            result.put(lang, byNormalizedLang.computeIfAbsent(normalizeLanguageCode(lang), key -> translateAsync(text, lang)));
+        }
+        return result;
     }
 
     /**
@@ -156,7 +367,7 @@ public class TranslateUtil {
                     encodedText));
             
             StringBuilder response = new StringBuilder();
-            try (BufferedReader br = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            try (BufferedReader br = new BufferedReader(new InputStreamReader(openStream(url), StandardCharsets.UTF_8))) {
                 String line;
                 while ((line = br.readLine()) != null) {
                     response.append(line).append("\n");
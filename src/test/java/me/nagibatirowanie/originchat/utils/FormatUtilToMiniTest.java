@@ -0,0 +1,158 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.utils;
+
+import me.nagibatirowanie.originchat.utils.FormatUtil.MiniTranslatorOption;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Differential test of {@link FormatUtil#toMini}: every corpus line and every generated input
+ * must translate byte for byte like {@link LegacyMiniTranslator}, under every option subset.
+ */
+class FormatUtilToMiniTest {
+
+    private static final long SEED = 42L;
+    private static final int GENERATED = 300_000;
+    private static final int MAX_LENGTH = 40;
+    // Characters and words that hit the color, format, hex, &x, gradient and end tag paths
+    private static final String ALPHABET = "&&&§/@#x-rcalknmo0123456789abfABXZ_ redgoldbluewhiteé<";
+    private static final String[] WORDS = {"red", "gold", "#00aa11", "blue", "&x&1&2&3&4&5&6", "&#abcdef", "&@", "white", "-"};
+    private static final int MAX_REPORTED = 10;
+
+    @Test
+    void matchesLegacyTranslatorOnCorpus() throws IOException {
+        List<String> corpus = loadCorpus();
+        assertTrue(corpus.size() > 20, "corpus is missing entries");
+        assertSameOutput(corpus);
+    }
+
+    @Test
+    void matchesLegacyTranslatorOnGeneratedInput() {
+        Random random = new Random(SEED);
+        List<String> generated = new ArrayList<>(GENERATED);
+        for (int i = 0; i < GENERATED; i++) {
+            int length = random.nextInt(MAX_LENGTH);
+            StringBuilder builder = new StringBuilder(length * 2);
+            for (int j = 0; j < length; j++) {
+                if (random.nextInt(8) == 0) {
+                    builder.append(WORDS[random.nextInt(WORDS.length)]);
+                } else {
+                    builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                }
+            }
+            generated.add(builder.toString());
+        }
+        assertSameOutput(generated);
+    }
+
+    @Test
+    void defaultOptionsAreAllOptions() throws IOException {
+        EnumSet<MiniTranslatorOption> all = EnumSet.allOf(MiniTranslatorOption.class);
+        for (String text : loadCorpus()) {
+            assertEquals(LegacyMiniTranslator.toMini(text, all), FormatUtil.toMini(text), text);
+        }
+    }
+
+    @Test
+    void tagByCharMatchesLegacyTranslator() {
+        for (EnumSet<MiniTranslatorOption> options : optionSubsets()) {
+            for (char ch = 0; ch < 300; ch++) {
+                assertEquals(LegacyMiniTranslator.tagByChar(ch, options), FormatUtil.tagByChar(ch, options),
+                        "char " + (int) ch + " with " + options);
+            }
+        }
+    }
+
+    @Test
+    void longInputMatchesLegacyTranslator() {
+        EnumSet<MiniTranslatorOption> all = EnumSet.allOf(MiniTranslatorOption.class);
+        // Longer than the thread-local builder that toMini keeps between calls
+        String text = "&c".repeat(10_000) + "&/c".repeat(10_000);
+        assertEquals(LegacyMiniTranslator.toMini(text, all), FormatUtil.toMini(text, all));
+        assertEquals("<red>ok", FormatUtil.toMini("&cok"));
+    }
+
+    private static void assertSameOutput(List<String> inputs) {
+        List<EnumSet<MiniTranslatorOption>> subsets = optionSubsets();
+        List<String> mismatches = new ArrayList<>();
+        int mismatchCount = 0;
+        for (String text : inputs) {
+            for (EnumSet<MiniTranslatorOption> options : subsets) {
+                String expected = LegacyMiniTranslator.toMini(text, options);
+                String actual = FormatUtil.toMini(text, options);
+                if (!Objects.equals(expected, actual)) {
+                    if (mismatchCount++ < MAX_REPORTED) {
+                        mismatches.add(options + " [" + text + "]\n  expected: " + expected + "\n  actual:   " + actual);
+                    }
+                }
+            }
+        }
+        int inputCount = inputs.size();
+        assertEquals(0, mismatchCount, () -> "toMini differs from the legacy translator (" + inputCount + " inputs x "
+                + subsets.size() + " option sets):\n" + String.join("\n", mismatches));
+    }
+
+    private static List<EnumSet<MiniTranslatorOption>> optionSubsets() {
+        MiniTranslatorOption[] values = MiniTranslatorOption.values();
+        List<EnumSet<MiniTranslatorOption>> subsets = new ArrayList<>(1 << values.length);
+        for (int mask = 0; mask < 1 << values.length; mask++) {
+            EnumSet<MiniTranslatorOption> options = EnumSet.noneOf(MiniTranslatorOption.class);
+            for (MiniTranslatorOption option : values) {
+                if ((mask & 1 << option.ordinal()) != 0) {
+                    options.add(option);
+                }
+            }
+            subsets.add(options);
+        }
+        return subsets;
+    }
+
+    private static List<String> loadCorpus() throws IOException {
+        InputStream stream = FormatUtilToMiniTest.class.getResourceAsStream("/tomini-corpus.txt");
+        assertNotNull(stream, "tomini-corpus.txt is missing");
+        List<String> corpus = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith("#")) {
+                    corpus.add(line);
+                }
+            }
+        }
+        return corpus;
+    }
+}
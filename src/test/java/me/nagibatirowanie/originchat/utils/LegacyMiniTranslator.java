@@ -0,0 +1,212 @@
+/*
+ * This file is part of OriginChat, a Minecraft plugin.
+ *
+ * Copyright (c) 2025 nagibatirowanie
+ *
+ * OriginChat is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this plugin. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Created with ❤️ for the Minecraft community.
+ */
+
+package me.nagibatirowanie.originchat.utils;
+
+import me.nagibatirowanie.originchat.utils.FormatUtil.MiniTranslatorOption;
+import net.kyori.adventure.text.format.NamedTextColor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The regex and list based toMini that FormatUtil shipped with before it was rewritten
+ * around tag ids, kept unchanged as the oracle of the differential test.
+ */
+final class LegacyMiniTranslator {
+
+    private static final Pattern HEX_COLOR = Pattern.compile("([\\da-f]{6})");
+    private static final Pattern LEGACY_HEX_COLOR = Pattern.compile("&([\\da-f])&([\\da-f])&([\\da-f])&([\\da-f])&([\\da-f])&([\\da-f])");
+
+    private LegacyMiniTranslator() {
+    }
+
+    static String toMini(String text, Collection<MiniTranslatorOption> options) {
+        List<String> closeOrder = new ArrayList<>();
+        StringBuilder builder = new StringBuilder();
+        for (int index = 0; index < text.length(); index++) {
+            char ch = text.charAt(index);
+            if (ch != '&' && ch != '§') {
+                builder.append(ch);
+            } else  {
+                if (text.length() == ++index) {
+                    builder.append(ch);
+                    break;
+                }
+                char nextCh = text.charAt(index);
+                if (nextCh == '/') {
+                    if (!options.contains(MiniTranslatorOption.END_TAGS) || text.length() == ++index) {
+                        builder.append(ch).append("/");
+                        continue;
+                    }
+                    nextCh = text.charAt(index);
+                    if (nextCh == 'r' && options.contains(MiniTranslatorOption.FORMAT)) {
+                        continue;
+                    }
+                    String tag = tagByChar(nextCh, options);
+                    if (tag == null || handleClosing(tag, closeOrder)) {
+                        builder.append(ch).append("/").append(nextCh);
+                        continue;
+                    }
+                    builder.append("</").append(tag).append('>');
+                } else {
+                    String tag = tagByChar(nextCh, options);
+                    if (tag == null) {
+                        builder.append(ch).append(nextCh);
+                        continue;
+                    }
+                    switch (tag) {
+                        case "color" -> {
+                            if (nextCh == '#') {
+                                if (text.length() > index + 6) {
+                                    String color = text.substring(index + 1, index + 7);
+                                    if (HEX_COLOR.matcher(color).matches()) {
+                                        builder.append("<color:#").append(color).append('>');
+                                        index += 6;
+                                        closeOrder.add(tag);
+                                        continue;
+                                    }
+                                }
+                            } else if (nextCh == 'x') {
+                                if (text.length() > index + 12) {
+                                    String color = text.substring(index + 1, index + 13);
+                                    Matcher colorMatcher = LEGACY_HEX_COLOR.matcher(color);
+                                    if (colorMatcher.matches()) {
+                                        builder.append("<color:").append(colorMatcher.replaceAll("#$1$2$3$4$5$6")).append('>');
+                                        index += 12;
+                                        closeOrder.add(tag);
+                                        continue;
+                                    }
+                                }
+                            }
+                            builder.append(ch).append(nextCh);
+                        }
+                        case "gradient" -> {
+                            int endIndex = -1;
+                            for (int inner = index + 1; inner < text.length(); inner++) {
+                                char inCh = text.charAt(inner);
+                                if (inCh == '&' || inCh == '§') {
+                                    endIndex = inner;
+                                    break;
+                                } else if (!(('a' <= inCh && inCh <= 'z') || ('0' <= inCh && inCh <= '9') || inCh == '#' || inCh == '-')) {
+                                    break;
+                                }
+                            }
+                            String[] split;
+                            if (endIndex == -1 || (split = text.substring(index + 1, endIndex).split("-")).length == 1) {
+                                builder.append(ch).append("@");
+                                continue;
+                            }
+                            List<String> colors = new ArrayList<>(split.length);
+                            for (String color : split) {
+                                if (color.length() == 1) {
+                                    color = colorByChar(color.charAt(0));
+                                    if (color == null) break;
+                                } else if (color.startsWith("#")) {
+                                    if (!HEX_COLOR.matcher(color.substring(1)).matches()) {
+                                        break;
+                                    }
+                                } else if (NamedTextColor.NAMES.value(color) == null) {
+                                    break;
+                                }
+                                colors.add(color);
+                            }
+                            if (colors.size() == split.length) {
+                                index = endIndex;
+                                builder.append("<gradient:").append(String.join(":", colors)).append('>');
+                                closeOrder.add(tag);
+                            }
+                        }
+                        case "reset" -> {
+                            closeOrder.clear();
+                            builder.append("<reset>");
+                        }
+                        default -> {
+                            closeOrder.add(tag);
+                            builder.append('<').append(tag).append('>');
+                        }
+                    }
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    private static boolean handleClosing(String tag, List<String> order) {
+        int index = order.lastIndexOf(tag);
+        if (index == -1) {
+            return true;
+        }
+        order.subList(index, order.size()).clear();
+        return false;
+    }
+
+    private static String colorByChar(char ch) {
+        return switch (ch) {
+            case '0' -> "black";
+            case '1' -> "dark_blue";
+            case '2' -> "dark_green";
+            case '3' -> "dark_aqua";
+            case '4' -> "dark_red";
+            case '5' -> "dark_purple";
+            case '6' -> "gold";
+            case '7' -> "gray";
+            case '8' -> "dark_gray";
+            case '9' -> "blue";
+            case 'a' -> "green";
+            case 'b' -> "aqua";
+            case 'c' -> "red";
+            case 'd' -> "light_purple";
+            case 'e' -> "yellow";
+            case 'f' -> "white";
+
+            default -> null;
+        };
+    }
+
+    static String tagByChar(char ch, Collection<MiniTranslatorOption> options) {
+        if (('0' <= ch && ch <= '9') || ('a' <= ch && ch <= 'f') || ch == '#' || ch == 'x') {
+            if (!options.contains(MiniTranslatorOption.COLOR)) return null;
+            return switch (ch) {
+                case 'x', '#' -> "color";
+                default -> colorByChar(ch);
+            };
+        } else if (('k' <= ch && ch <= 'o') || ch == 'r') {
+            if (!options.contains(MiniTranslatorOption.FORMAT)) return null;
+            return switch (ch) {
+                case 'r' -> "reset";
+                case 'l' -> "b";
+                case 'n' -> "u";
+                case 'm' -> "st";
+                case 'o' -> "i";
+                case 'k' -> "obf";
+
+                default -> null;
+            };
+        } else if (ch == '@' && options.contains(MiniTranslatorOption.GRADIENT)) {
+            return "gradient";
+        }
+        return null;
+    }
+}